@@ -0,0 +1,35 @@
+plugins {
+    java
+    id("me.champeau.jmh") version "0.6.8"
+}
+
+val edtLocation = findProperty("edtLocation") ?: ""
+
+repositories {
+    mavenCentral()
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    // Классы плагина и библиотеки EDT нужны только в classpath, запуск EDT не требуется
+    jmh(rootProject)
+    jmh(fileTree(edtLocation) { include("*.jar") })
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // Отбор тестов производительности: ./gradlew :benchmarks:jmh -Pjmh.includes=ReportLoad
+    findProperty("jmh.includes")?.let { includes.add(it.toString()) }
+    resultFormat.set("JSON")
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Генератор синтетических отчетов в формате junit.xml для тестов производительности
+ */
+public final class ReportGenerator {
+
+  /**
+   * Количество тестов в одном наборе (модуле)
+   */
+  public static final int CASES_PER_SUITE = 50;
+
+  private ReportGenerator() {
+  }
+
+  /**
+   * Формирует отчет
+   *
+   * @param file          файл отчета
+   * @param cases         общее количество тестов
+   * @param failureRatio  доля упавших тестов (половина из них - ошибки, половина - падения с ожидаемым и фактическим)
+   * @param skippedRatio  доля пропущенных тестов
+   * @param outputRatio   доля тестов с выводом в system-out
+   * @param outputSize    размер вывода теста в символах
+   * @throws IOException при ошибке записи
+   */
+  public static void generate(Path file, int cases, double failureRatio, double skippedRatio, double outputRatio, int outputSize) throws IOException {
+    var random = new Random(cases);
+    var output = outputSize > 0 ? line(outputSize) : "";
+    int suites = (cases + CASES_PER_SUITE - 1) / CASES_PER_SUITE;
+
+    try (var writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+      writer.write("<testsuites name=\"benchmark\" tests=\"" + cases + "\">\n");
+      int written = 0;
+      for (int suite = 0; suite < suites; suite++) {
+        int count = Math.min(CASES_PER_SUITE, cases - written);
+        writeSuite(writer, random, suite, count, failureRatio, skippedRatio, outputRatio, output);
+        written += count;
+      }
+      writer.write("</testsuites>\n");
+    }
+  }
+
+  private static void writeSuite(BufferedWriter writer, Random random, int suite, int count,
+                                 double failureRatio, double skippedRatio, double outputRatio, String output) throws IOException {
+    var body = new StringBuilder();
+    int failures = 0;
+    int errors = 0;
+    int skipped = 0;
+    var suiteName = "ТестовыйМодуль" + suite;
+    for (int i = 0; i < count; i++) {
+      var time = random.nextInt(5000) / 1000.0;
+      body.append("    <testcase classname=\"").append(suiteName)
+          .append("\" name=\"Тест").append(i)
+          .append("\" time=\"").append(time).append("\">\n");
+      var dice = random.nextDouble();
+      if (dice < failureRatio) {
+        if (random.nextBoolean()) {
+          errors++;
+          body.append("      <error message=\"Ошибка выполнения ").append(i).append("\" type=\"ERROR\">")
+              .append(trace(suiteName, i)).append("</error>\n");
+        } else {
+          failures++;
+          body.append("      <failure message=\"Ожидали, что 1 равно 2\" type=\"ASSERT\">")
+              .append("<expected>1</expected><actual>2</actual>")
+              .append(trace(suiteName, i)).append("</failure>\n");
+        }
+      } else if (dice < failureRatio + skippedRatio) {
+        skipped++;
+        body.append("      <skipped message=\"Тест пропущен\"/>\n");
+      }
+      if (!output.isEmpty() && random.nextDouble() < outputRatio) {
+        body.append("      <system-out>").append(output).append("</system-out>\n");
+      }
+      body.append("    </testcase>\n");
+    }
+
+    writer.write("  <testsuite name=\"" + suiteName + "\" tests=\"" + count + "\" failures=\"" + failures
+        + "\" errors=\"" + errors + "\" skipped=\"" + skipped + "\" time=\"0\">\n");
+    writer.write(body.toString());
+    writer.write("  </testsuite>\n");
+  }
+
+  private static String trace(String suiteName, int index) {
+    return "{ОбщийМодуль." + suiteName + ".Модуль(" + (index + 10) + ")}: ВызватьИсключение \"Ошибка\";\n"
+        + "{ОбщийМодуль.ЮТИсполнительСервер.Модуль(120)}: Выполнить(Тест);";
+  }
+
+  private static String line(int size) {
+    var builder = new StringBuilder(size);
+    var pattern = "Вывод теста: значение переменной = 42; ";
+    while (builder.length() < size) {
+      builder.append(pattern);
+    }
+    builder.setLength(size);
+    return builder.toString();
+  }
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Синтетический отчет, общий для всех итераций теста производительности
+ */
+@State(Scope.Benchmark)
+public class ReportState {
+
+  /**
+   * Количество тестов в отчете
+   */
+  @Param({"1000", "10000", "100000"})
+  public int cases;
+
+  /**
+   * Профиль отчета:
+   * <ul>
+   *   <li>clean - все тесты успешны, вывода нет</li>
+   *   <li>failing - 20% упавших и 5% пропущенных тестов</li>
+   *   <li>noisy - 5% упавших тестов, у половины тестов вывод по 8 КБ</li>
+   * </ul>
+   */
+  @Param({"clean", "failing", "noisy"})
+  public String profile;
+
+  public Path file;
+
+  @Setup(Level.Trial)
+  public void generate() throws IOException {
+    file = Files.createTempFile("benchmark-junit", ".xml");
+    switch (profile) {
+      case "clean":
+        ReportGenerator.generate(file, cases, 0, 0, 0, 0);
+        break;
+      case "failing":
+        ReportGenerator.generate(file, cases, 0.2, 0.05, 0, 0);
+        break;
+      case "noisy":
+        ReportGenerator.generate(file, cases, 0.05, 0, 0.5, 8 * 1024);
+        break;
+      default:
+        throw new IllegalArgumentException("Неизвестный профиль отчета: " + profile);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void delete() throws IOException {
+    Files.deleteIfExists(file);
+  }
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.model;
+
+import ru.biatech.edt.junit.model.report.ReportLoader;
+import ru.biatech.edt.junit.model.report.StreamingReportLoader;
+
+import java.nio.file.Path;
+
+/**
+ * Загрузка сессий для тестов производительности без запуска EDT
+ */
+public final class BenchmarkSessions {
+
+  private BenchmarkSessions() {
+  }
+
+  /**
+   * @return потоковый загрузчик, аналогичный используемому {@link SessionsManager}
+   */
+  public static StreamingReportLoader<TestSuiteElement, TestCaseElement> newReportLoader() {
+    return new StreamingReportLoader<>(TestSuiteElement::new, TestCaseElement::new, TestSuiteElement[]::new, TestCaseElement[]::new);
+  }
+
+  /**
+   * Загружает отчет в новую сессию и инициализирует ее, как при импорте отчета
+   *
+   * @param file файл отчета
+   * @return инициализированная сессия
+   */
+  public static Session load(Path file) {
+    var session = new Session();
+    ReportLoader.loadInto(file, session, newReportLoader());
+    session.init();
+    return session;
+  }
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.biatech.edt.junit.benchmark.ReportState;
+import ru.biatech.edt.junit.model.report.ReportLoader;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Загрузка отчета и операции над сессией
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SessionBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class LoadedSession {
+    public Session session;
+
+    @Setup(Level.Trial)
+    public void load(ReportState report) {
+      session = BenchmarkSessions.load(report.file);
+    }
+  }
+
+  /**
+   * Загрузка потоковым загрузчиком, используемым при импорте отчетов
+   */
+  @Benchmark
+  public Session loadStreaming(ReportState report) {
+    var session = new Session();
+    ReportLoader.loadInto(report.file, session, BenchmarkSessions.newReportLoader());
+    return session;
+  }
+
+  /**
+   * Загрузка через Jackson, используется при ошибке потокового загрузчика
+   */
+  @Benchmark
+  public Session loadJackson(ReportState report) {
+    return ReportLoader.load(report.file, Session.class);
+  }
+
+  @Benchmark
+  public Session init(LoadedSession state) {
+    state.session.init();
+    return state.session;
+  }
+
+  @Benchmark
+  public List<String> getAllFailedTestNames(LoadedSession state) {
+    return state.session.getAllFailedTestNames();
+  }
+}
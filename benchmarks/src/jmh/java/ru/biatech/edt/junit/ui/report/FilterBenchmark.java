@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.ui.report;
+
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.biatech.edt.junit.benchmark.ReportState;
+import ru.biatech.edt.junit.model.BenchmarkSessions;
+import ru.biatech.edt.junit.model.ITestElement;
+import ru.biatech.edt.junit.model.ITestElementContainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Фильтры и сортировка элементов дерева результатов, используемые {@link TestViewer}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class FilterBenchmark {
+
+  private final TestViewer.FailuresOnlyFilter failuresOnlyFilter = new TestViewer.FailuresOnlyFilter();
+  private final TestViewer.IgnoredOnlyFilter ignoredOnlyFilter = new TestViewer.IgnoredOnlyFilter();
+  private final ViewerComparator nameComparator = new TestViewer.TestNameComparator();
+  private final ViewerComparator timeComparator = new TestViewer.TestExecutionTimeComparator();
+  private ITestElement[] elements;
+
+  @Setup(Level.Trial)
+  public void load(ReportState report) {
+    var session = BenchmarkSessions.load(report.file);
+    List<ITestElement> all = new ArrayList<>();
+    addAll(all, session);
+    elements = all.toArray(ITestElement[]::new);
+  }
+
+  @Benchmark
+  public int failuresOnly() {
+    int count = 0;
+    for (var element : elements) {
+      if (failuresOnlyFilter.select(element)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int ignoredOnly() {
+    int count = 0;
+    for (var element : elements) {
+      if (ignoredOnlyFilter.select(element)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public ITestElement[] sortByName() {
+    return sort(nameComparator);
+  }
+
+  @Benchmark
+  public ITestElement[] sortByExecutionTime() {
+    return sort(timeComparator);
+  }
+
+  private ITestElement[] sort(ViewerComparator comparator) {
+    var copy = elements.clone();
+    Arrays.sort(copy, (element1, element2) -> comparator.compare(null, element1, element2));
+    return copy;
+  }
+
+  private static void addAll(List<ITestElement> all, ITestElementContainer container) {
+    for (var element : container.getChildren()) {
+      all.add(element);
+      if (element instanceof ITestElementContainer) {
+        addAll(all, (ITestElementContainer) element);
+      }
+    }
+  }
+}
@@ -44,10 +44,20 @@ sourceSets {
         resources.srcDirs(subProjects.map { "$it/src/main/resources" })
         resources.srcDirs(subProjects.map { "$it/META-INF" })
     }
+    test {
+        java.srcDirs(subProjects.map { "$it/src/test/java" })
+    }
 }
 
 dependencies {
     implementation(fileTree(edtLocation) { include("*.jar") })
+    compileOnly("org.projectlombok:lombok:1.18.36")
+    annotationProcessor("org.projectlombok:lombok:1.18.36")
+    testImplementation("org.junit.jupiter:junit-jupiter:5.7.2")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 license {
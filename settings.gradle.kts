@@ -1 +1,3 @@
-rootProject.name = "xTestRunner"
\ No newline at end of file
+rootProject.name = "xTestRunner"
+
+include("benchmarks")
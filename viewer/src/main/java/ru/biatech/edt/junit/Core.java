@@ -27,6 +27,7 @@ import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Platform;
 import ru.biatech.edt.junit.model.SessionsManager;
+import ru.biatech.edt.junit.model.TestTimings;
 
 import java.io.File;
 
@@ -37,6 +38,12 @@ public class Core {
   @Getter
   private final SessionsManager sessionsManager = new SessionsManager();
 
+  /**
+   * История длительности выполнения тестов
+   */
+  @Getter
+  private final TestTimings testTimings = new TestTimings();
+
   private ListenerList<TestRunListener> newListeners = null;
 
   /**
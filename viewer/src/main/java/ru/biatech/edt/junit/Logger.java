@@ -30,7 +30,10 @@ public class Logger {
   }
 
   public void log(IStatus status) {
-    TestViewerPlugin.getDefault().getLog().log(status);
+    var plugin = TestViewerPlugin.getDefault();
+    if (plugin != null) {
+      plugin.getLog().log(status);
+    }
   }
 
   public void logError(Throwable throwable) {
@@ -57,6 +60,10 @@ public class Logger {
     return new Status(IStatus.WARNING, getPluginID(), 0, message, null);
   }
 
+  public boolean isDebugEnabled() {
+    return debug;
+  }
+
   public void debug(String message) {
     if (debug) {
       log(new Status(IStatus.OK, getPluginID(), 0, message, null));
@@ -24,6 +24,18 @@ import org.eclipse.core.runtime.preferences.InstanceScope;
 public class Preferences {
 
   public static final String SHOW_ON_ERROR_ONLY = Constants.PLUGIN_ID + ".show_on_error"; //$NON-NLS-1$
+  public static final String INCREMENTAL_REPORT = Constants.PLUGIN_ID + ".incremental_report"; //$NON-NLS-1$
+  public static final String REMOTE_RUN_TIMEOUT = Constants.PLUGIN_ID + ".remote_run_timeout"; //$NON-NLS-1$
+  public static final String REMOTE_TEST_TIMEOUT = Constants.PLUGIN_ID + ".remote_test_timeout"; //$NON-NLS-1$
+  public static final String REMOTE_MAX_RUNS_PER_CLIENT = Constants.PLUGIN_ID + ".remote_max_runs_per_client"; //$NON-NLS-1$
+  public static final String HISTORY_MAX_SESSIONS = Constants.PLUGIN_ID + ".history_max_sessions"; //$NON-NLS-1$
+  public static final String HISTORY_MAX_MEMORY = Constants.PLUGIN_ID + ".history_max_memory"; //$NON-NLS-1$
+  public static final String HISTORY_MAX_AGE = Constants.PLUGIN_ID + ".history_max_age"; //$NON-NLS-1$
+  public static final String SPILL_REPORT_TEXT = Constants.PLUGIN_ID + ".spill_report_text"; //$NON-NLS-1$
+  public static final String TIMING_LOG_RUNS = Constants.PLUGIN_ID + ".timing_log_runs"; //$NON-NLS-1$
+  public static final String TIMING_BASELINE_RUNS = Constants.PLUGIN_ID + ".timing_baseline_runs"; //$NON-NLS-1$
+  public static final String TIMING_REGRESSION_THRESHOLD = Constants.PLUGIN_ID + ".timing_regression_threshold"; //$NON-NLS-1$
+  public static final String ORDER_FAILED_FIRST = Constants.PLUGIN_ID + ".order_failed_first"; //$NON-NLS-1$
 
   public void putShowOnErrorOnly(boolean value) {
     InstanceScope.INSTANCE.getNode(TestViewerPlugin.getPluginId())
@@ -34,7 +46,150 @@ public class Preferences {
     return Platform.getPreferencesService().getBoolean(TestViewerPlugin.getPluginId(), SHOW_ON_ERROR_ONLY, false, null);
   }
 
+  public void putIncrementalReport(boolean value) {
+    InstanceScope.INSTANCE.getNode(TestViewerPlugin.getPluginId())
+        .putBoolean(INCREMENTAL_REPORT, value);
+  }
+
+  /**
+   * Признак загрузки результатов по мере их записи в отчет, не дожидаясь завершения тестирования
+   */
+  public boolean getIncrementalReport() {
+    return Platform.getPreferencesService().getBoolean(TestViewerPlugin.getPluginId(), INCREMENTAL_REPORT, true, null);
+  }
+
+  public void putRemoteRunTimeout(int seconds) {
+    InstanceScope.INSTANCE.getNode(TestViewerPlugin.getPluginId())
+        .putInt(REMOTE_RUN_TIMEOUT, seconds);
+  }
+
+  /**
+   * Максимальная длительность запуска тестов без перезапуска клиента, в секундах. 0 - без ограничения
+   */
+  public int getRemoteRunTimeout() {
+    return Platform.getPreferencesService().getInt(TestViewerPlugin.getPluginId(), REMOTE_RUN_TIMEOUT, 3600, null);
+  }
+
+  public void putRemoteTestTimeout(int seconds) {
+    InstanceScope.INSTANCE.getNode(TestViewerPlugin.getPluginId())
+        .putInt(REMOTE_TEST_TIMEOUT, seconds);
+  }
+
+  /**
+   * Максимальное время без событий от клиента, передающего результаты по мере выполнения, в секундах.
+   * Фактически ограничивает длительность одного теста. 0 - без ограничения
+   */
+  public int getRemoteTestTimeout() {
+    return Platform.getPreferencesService().getInt(TestViewerPlugin.getPluginId(), REMOTE_TEST_TIMEOUT, 300, null);
+  }
+
+  public void putRemoteMaxRunsPerClient(int value) {
+    InstanceScope.INSTANCE.getNode(TestViewerPlugin.getPluginId())
+        .putInt(REMOTE_MAX_RUNS_PER_CLIENT, value);
+  }
+
+  /**
+   * Количество запусков, одновременно отправляемых одному клиенту. Остальные запуски ожидают в очереди
+   */
+  public int getRemoteMaxRunsPerClient() {
+    return Math.max(1, Platform.getPreferencesService().getInt(TestViewerPlugin.getPluginId(), REMOTE_MAX_RUNS_PER_CLIENT, 1, null));
+  }
+
+  public void putMaxTestRuns(int value) {
+    InstanceScope.INSTANCE.getNode(TestViewerPlugin.getPluginId())
+        .putInt(HISTORY_MAX_SESSIONS, value);
+  }
+
+  /**
+   * Максимальное количество сессий в истории запусков
+   */
   public int getMaxTestRuns() {
-    return 10;
+    return Math.max(1, Platform.getPreferencesService().getInt(TestViewerPlugin.getPluginId(), HISTORY_MAX_SESSIONS, 10, null));
+  }
+
+  public void putHistoryMaxMemory(int megabytes) {
+    InstanceScope.INSTANCE.getNode(TestViewerPlugin.getPluginId())
+        .putInt(HISTORY_MAX_MEMORY, megabytes);
+  }
+
+  /**
+   * Максимальный объем памяти, занимаемый результатами сессий истории, в мегабайтах.
+   * При превышении старые сессии выгружаются на диск. 0 - без ограничения
+   */
+  public int getHistoryMaxMemory() {
+    return Platform.getPreferencesService().getInt(TestViewerPlugin.getPluginId(), HISTORY_MAX_MEMORY, 256, null);
+  }
+
+  public void putHistoryMaxAge(int days) {
+    InstanceScope.INSTANCE.getNode(TestViewerPlugin.getPluginId())
+        .putInt(HISTORY_MAX_AGE, days);
+  }
+
+  /**
+   * Максимальный возраст сессий в истории запусков, в днях. 0 - без ограничения
+   */
+  public int getHistoryMaxAge() {
+    return Platform.getPreferencesService().getInt(TestViewerPlugin.getPluginId(), HISTORY_MAX_AGE, 30, null);
+  }
+
+  public void putSpillReportText(boolean value) {
+    InstanceScope.INSTANCE.getNode(TestViewerPlugin.getPluginId())
+        .putBoolean(SPILL_REPORT_TEXT, value);
+  }
+
+  /**
+   * Признак выноса больших текстов отчета (вывод тестов, стеки вызовов) в файл подкачки.
+   * Тексты читаются с диска только при просмотре
+   */
+  public boolean getSpillReportText() {
+    return Platform.getPreferencesService().getBoolean(TestViewerPlugin.getPluginId(), SPILL_REPORT_TEXT, true, null);
+  }
+
+  public void putTimingLogRuns(int value) {
+    InstanceScope.INSTANCE.getNode(TestViewerPlugin.getPluginId())
+        .putInt(TIMING_LOG_RUNS, value);
+  }
+
+  /**
+   * Количество последних запусков, хранимых в журнале длительности тестов
+   */
+  public int getTimingLogRuns() {
+    return Math.max(1, Platform.getPreferencesService().getInt(TestViewerPlugin.getPluginId(), TIMING_LOG_RUNS, 50, null));
+  }
+
+  public void putTimingBaselineRuns(int value) {
+    InstanceScope.INSTANCE.getNode(TestViewerPlugin.getPluginId())
+        .putInt(TIMING_BASELINE_RUNS, value);
+  }
+
+  /**
+   * Количество предыдущих запусков, по которым вычисляется базовая длительность теста при поиске замедлений
+   */
+  public int getTimingBaselineRuns() {
+    return Math.max(1, Platform.getPreferencesService().getInt(TestViewerPlugin.getPluginId(), TIMING_BASELINE_RUNS, 5, null));
+  }
+
+  public void putTimingRegressionThreshold(int percent) {
+    InstanceScope.INSTANCE.getNode(TestViewerPlugin.getPluginId())
+        .putInt(TIMING_REGRESSION_THRESHOLD, percent);
+  }
+
+  /**
+   * Порог замедления теста относительно базовой длительности, в процентах
+   */
+  public int getTimingRegressionThreshold() {
+    return Math.max(1, Platform.getPreferencesService().getInt(TestViewerPlugin.getPluginId(), TIMING_REGRESSION_THRESHOLD, 50, null));
+  }
+
+  public void putOrderFailedFirst(boolean value) {
+    InstanceScope.INSTANCE.getNode(TestViewerPlugin.getPluginId())
+        .putBoolean(ORDER_FAILED_FIRST, value);
+  }
+
+  /**
+   * Признак упорядочивания тестов запуска: сначала недавно упавшие, затем тесты измененных модулей
+   */
+  public boolean getOrderFailedFirst() {
+    return Platform.getPreferencesService().getBoolean(TestViewerPlugin.getPluginId(), ORDER_FAILED_FIRST, true, null);
   }
 }
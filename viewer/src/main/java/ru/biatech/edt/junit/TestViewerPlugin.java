@@ -35,7 +35,9 @@ import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.ServiceReference;
+import ru.biatech.edt.junit.kinds.TestKindRegistry;
 import ru.biatech.edt.junit.launcher.lifecycle.LifecycleMonitor;
+import ru.biatech.edt.junit.model.report.SpillFile;
 import ru.biatech.edt.junit.ui.PluginUI;
 import ru.biatech.edt.junit.yaxunit.remote.RemoteLaunchManager;
 
@@ -47,6 +49,7 @@ import java.text.MessageFormat;
 public class TestViewerPlugin extends AbstractUIPlugin {
   private static final IPath ICONS_PATH = new Path("$nl$/icons/full"); //$NON-NLS-1$
   private static TestViewerPlugin plugin;
+  private static final Logger STANDALONE_LOGGER = new Logger();
   Core core;
   PluginUI ui;
   private BundleContext bundleContext;
@@ -64,7 +67,9 @@ public class TestViewerPlugin extends AbstractUIPlugin {
   }
 
   public static Logger log() {
-    return getDefault().getLogger();
+    var current = getDefault();
+    // Вне запущенного плагина (например, в тестах) сообщения не записываются
+    return current == null ? STANDALONE_LOGGER : current.getLogger();
   }
 
   public static BundleContext getBundleContext() {
@@ -137,7 +142,9 @@ public class TestViewerPlugin extends AbstractUIPlugin {
   @Override
   public void stop(BundleContext bundleContext) throws Exception {
     LifecycleMonitor.stop();
+    TestKindRegistry.dispose();
     core().getSessionsManager().stop();
+    SpillFile.getDefault().close();
     RemoteLaunchManager.stop();
     plugin = null;
     super.stop(bundleContext);
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.diagnostics;
+
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Легковесные метрики плагина: именованные таймеры, счетчики и кольцевой буфер последних замеров.
+ * <p>
+ * Используются для поиска причин медленной работы (запуск 1С, загрузка отчета, инициализация сессии,
+ * отрисовка результатов). Сбор метрик не зависит от режима отладки и не требует запущенного плагина.
+ * <pre>{@code
+ * try (var ignored = Metrics.span("session.import")) {
+ *   ...
+ * }
+ * }</pre>
+ */
+@UtilityClass
+public class Metrics {
+
+  /**
+   * Количество последних замеров, хранимых в буфере
+   */
+  public final int SPANS_CAPACITY = 512;
+
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+  private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+  private final SpanRecord[] spans = new SpanRecord[SPANS_CAPACITY];
+  private long spansCount;
+
+  /**
+   * Начинает замер, замер фиксируется при закрытии
+   *
+   * @param name имя таймера
+   * @return замер
+   */
+  public Span span(String name) {
+    return new Span(name, null);
+  }
+
+  /**
+   * Начинает замер, замер фиксируется при закрытии
+   *
+   * @param name   имя таймера
+   * @param detail дополнительная информация, сохраняется в буфере замеров
+   * @return замер
+   */
+  public Span span(String name, String detail) {
+    return new Span(name, detail);
+  }
+
+  /**
+   * Фиксирует замер, выполненный вне {@link Span}, например, время между событиями
+   *
+   * @param name           имя таймера
+   * @param startMillis    момент начала, мс
+   * @param durationMillis длительность, мс
+   * @param detail         дополнительная информация или {@code null}
+   */
+  public void record(String name, long startMillis, long durationMillis, String detail) {
+    recordNanos(name, startMillis, durationMillis * 1_000_000, detail);
+  }
+
+  /**
+   * Увеличивает счетчик на 1
+   *
+   * @param name имя счетчика
+   */
+  public void count(String name) {
+    count(name, 1);
+  }
+
+  /**
+   * Увеличивает счетчик
+   *
+   * @param name  имя счетчика
+   * @param delta приращение
+   */
+  public void count(String name, long delta) {
+    counters.computeIfAbsent(name, k -> new AtomicLong()).addAndGet(delta);
+  }
+
+  /**
+   * Возвращает копию накопленных метрик
+   *
+   * @return снимок метрик
+   */
+  public MetricsSnapshot snapshot() {
+    var timersSnapshot = new TreeMap<String, MetricsSnapshot.TimerStat>();
+    timers.forEach((name, timer) -> timersSnapshot.put(name, timer.snapshot()));
+    var countersSnapshot = new TreeMap<String, Long>();
+    counters.forEach((name, counter) -> countersSnapshot.put(name, counter.get()));
+    return new MetricsSnapshot(Instant.now().toString(), timersSnapshot, countersSnapshot, recentSpans());
+  }
+
+  /**
+   * Очищает накопленные метрики
+   */
+  public void reset() {
+    timers.clear();
+    counters.clear();
+    synchronized (spans) {
+      spansCount = 0;
+      Arrays.fill(spans, null);
+    }
+  }
+
+  void recordNanos(String name, long startMillis, long durationNanos, String detail) {
+    timers.computeIfAbsent(name, k -> new Timer()).add(durationNanos);
+    var spanRecord = new SpanRecord(name, startMillis, durationNanos / 1_000_000.0, Thread.currentThread().getName(), detail);
+    synchronized (spans) {
+      spans[(int) (spansCount++ % SPANS_CAPACITY)] = spanRecord;
+    }
+  }
+
+  private List<SpanRecord> recentSpans() {
+    synchronized (spans) {
+      int size = (int) Math.min(spansCount, SPANS_CAPACITY);
+      var result = new ArrayList<SpanRecord>(size);
+      for (long i = spansCount - size; i < spansCount; i++) {
+        result.add(spans[(int) (i % SPANS_CAPACITY)]);
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Накопительная статистика таймера
+   */
+  private static class Timer {
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    synchronized void add(long nanos) {
+      count++;
+      totalNanos += nanos;
+      maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    synchronized MetricsSnapshot.TimerStat snapshot() {
+      return new MetricsSnapshot.TimerStat(count, totalNanos / 1_000_000.0, maxNanos / 1_000_000.0);
+    }
+  }
+
+  /**
+   * Замер, завершенный в буфере
+   */
+  @Value
+  public static class SpanRecord {
+    String name;
+    long start;
+    double durationMs;
+    String thread;
+    String detail;
+  }
+}
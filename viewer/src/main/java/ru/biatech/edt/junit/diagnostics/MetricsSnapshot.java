@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.diagnostics;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Снимок метрик для выгрузки в JSON
+ */
+@Value
+public class MetricsSnapshot {
+  /**
+   * Момент формирования снимка
+   */
+  String created;
+  Map<String, TimerStat> timers;
+  Map<String, Long> counters;
+  /**
+   * Последние замеры, от старых к новым
+   */
+  List<Metrics.SpanRecord> spans;
+
+  /**
+   * Статистика таймера, время в миллисекундах
+   */
+  @Value
+  public static class TimerStat {
+    long count;
+    double totalMs;
+    double maxMs;
+  }
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.diagnostics;
+
+/**
+ * Выполняющийся замер времени, фиксируется в {@link Metrics} при закрытии
+ */
+public final class Span implements AutoCloseable {
+  private final String name;
+  private final long startMillis;
+  private final long startNanos;
+  private String detail;
+  private boolean closed;
+
+  Span(String name, String detail) {
+    this.name = name;
+    this.detail = detail;
+    startMillis = System.currentTimeMillis();
+    startNanos = System.nanoTime();
+  }
+
+  /**
+   * Устанавливает дополнительную информацию замера, например, объем обработанных данных
+   *
+   * @param detail дополнительная информация
+   */
+  public void setDetail(String detail) {
+    this.detail = detail;
+  }
+
+  @Override
+  public void close() {
+    record(name);
+  }
+
+  /**
+   * Фиксирует замер неуспешной операции под именем с суффиксом {@code .failed},
+   * чтобы он не смешивался с замерами успешных операций
+   */
+  public void fail() {
+    record(name + ".failed"); //$NON-NLS-1$
+  }
+
+  private void record(String recordName) {
+    if (!closed) {
+      closed = true;
+      Metrics.recordNanos(recordName, startMillis, System.nanoTime() - startNanos, detail);
+    }
+  }
+}
@@ -125,4 +125,10 @@ public interface ITestFinder {
    * @return список проверяемых методов (модулей)
    */
   List<MethodReference> findTestedMethod(String testModuleName, String testMethodName);
+
+  /**
+   * Освобождает ресурсы поиска тестов (кеши, подписки на изменения) при остановке плагина
+   */
+  default void dispose() {
+  }
 }
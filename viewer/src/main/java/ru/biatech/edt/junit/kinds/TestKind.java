@@ -51,6 +51,16 @@ public class TestKind implements ITestKind {
     return fFinder;
   }
 
+  /**
+   * Освобождает ресурсы созданного поиска тестов
+   */
+  void dispose() {
+    if (fFinder != null) {
+      fFinder.dispose();
+      fFinder = null;
+    }
+  }
+
   /*
    * @see ru.biatech.edt.junit.kinds.ITestKind#getLauncher()
    */
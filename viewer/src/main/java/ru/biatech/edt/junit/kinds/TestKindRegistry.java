@@ -50,6 +50,16 @@ public class TestKindRegistry {
     return fgRegistry;
   }
 
+  /**
+   * Освобождает ресурсы загруженных видов тестов при остановке плагина
+   */
+  public static synchronized void dispose() {
+    if (fgRegistry != null && fgRegistry.fTestKinds != null) {
+      fgRegistry.fTestKinds.forEach(TestKind::dispose);
+    }
+    fgRegistry = null;
+  }
+
   public static String getContainerTestKindId(IV8Project element) {
     // TODO
     return YAXUNIT_TEST_KIND_ID;
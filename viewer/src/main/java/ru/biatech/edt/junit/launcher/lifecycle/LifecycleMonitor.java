@@ -26,11 +26,14 @@ import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchListener;
 import org.eclipse.debug.core.model.IProcess;
 import ru.biatech.edt.junit.TestViewerPlugin;
+import ru.biatech.edt.junit.diagnostics.Metrics;
 import ru.biatech.edt.junit.launcher.v8.LaunchConfigurationAttributes;
 import ru.biatech.edt.junit.launcher.v8.LaunchHelper;
 import ru.biatech.edt.junit.ui.UIMessages;
 import ru.biatech.edt.junit.ui.utils.StringUtilities;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -96,6 +99,11 @@ public class LifecycleMonitor {
 
   private void riseEvent(int eventType, LifecycleItem item) {
     debug("Launch event: {0} for {1}", LifecycleEvent.getPresent(eventType), item.getName());
+    Metrics.count("launch." + LifecycleEvent.getPresent(eventType));
+    if (LifecycleEvent.isStop(eventType) && item.getStart() != null) {
+      // Полное время запуска: старт 1С, выполнение тестов и запись отчета
+      Metrics.record("launch.run", item.getStart().toEpochMilli(), Duration.between(item.getStart(), Instant.now()).toMillis(), item.getName());
+    }
     if (LifecycleEvent.isStop(eventType)) {
       try {
         item.getTestLaunch().terminate();
@@ -182,6 +190,9 @@ public class LifecycleMonitor {
         for (var item : monitoringItems.values()) {
           if (name.contains(item.getName()) && item.getMainLaunch() == null) {
             debug("Attach 1C launch for {0}", item.getTestLaunch());
+            if (item.getStart() != null) {
+              Metrics.record("launch.attach", item.getStart().toEpochMilli(), Duration.between(item.getStart(), Instant.now()).toMillis(), name);
+            }
             item.setMainLaunch(launch);
             handleProcesses(item);
             monitoringItems.put(launch, item);
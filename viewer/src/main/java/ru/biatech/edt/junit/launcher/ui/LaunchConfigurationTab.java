@@ -54,6 +54,7 @@ public class LaunchConfigurationTab extends AbstractLaunchConfigurationTab {
     control.projectPathControl.addModifyListener(e -> onChanged());
     control.loggingControl.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> onChanged()));
     control.useRemoteLaunchControl.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> onChanged()));
+    control.stopAfterFailuresControl.addModifyListener(e -> onChanged());
   }
 
   @Override
@@ -87,6 +88,7 @@ public class LaunchConfigurationTab extends AbstractLaunchConfigurationTab {
       var projectPath = LaunchConfigurationAttributes.getProjectPath(configuration);
       var logging = LaunchConfigurationAttributes.getLoggingToConsole(configuration);
       var useRemoteLaunch = LaunchConfigurationAttributes.useRemoteLaunch(configuration);
+      var stopAfterFailures = LaunchConfigurationAttributes.getStopAfterFailures(configuration);
 
       UtilsUI.setSelection(control.usedLaunchConfigurationControl, usedConfiguration);
       UtilsUI.setSelection(control.testExtensionControl, project);
@@ -94,6 +96,7 @@ public class LaunchConfigurationTab extends AbstractLaunchConfigurationTab {
       control.projectPathControl.setText(projectPath == null ? "" : projectPath);
       control.loggingControl.setSelection(logging);
       control.useRemoteLaunchControl.setSelection(useRemoteLaunch);
+      control.stopAfterFailuresControl.setSelection(stopAfterFailures);
     } catch (CoreException e) {
       TestViewerPlugin.log().logError(UIMessages.LaunchConfigurationTab_failedRestoreSettings, e);
     }
@@ -111,6 +114,7 @@ public class LaunchConfigurationTab extends AbstractLaunchConfigurationTab {
     configuration.setAttribute(LaunchConfigurationAttributes.PROJECT_PATH, control.projectPathControl.getText());
     configuration.setAttribute(LaunchConfigurationAttributes.LOGGING_CONSOLE, control.loggingControl.getSelection());
     configuration.setAttribute(LaunchConfigurationAttributes.USE_REMOTE_LAUNCH, control.useRemoteLaunchControl.getSelection());
+    configuration.setAttribute(LaunchConfigurationAttributes.STOP_AFTER_FAILURES, control.stopAfterFailuresControl.getSelection());
   }
 
   @Override
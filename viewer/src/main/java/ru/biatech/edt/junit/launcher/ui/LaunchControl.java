@@ -28,6 +28,7 @@ import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Spinner;
 import org.eclipse.swt.widgets.Text;
 import ru.biatech.edt.junit.launcher.v8.LaunchHelper;
 import ru.biatech.edt.junit.ui.UIMessages;
@@ -42,6 +43,7 @@ public class LaunchControl extends Composite {
   Text projectPathControl;
   Button loggingControl;
   Button useRemoteLaunchControl;
+  Spinner stopAfterFailuresControl;
 
   public LaunchControl(Composite parent, int style) {
     super(parent, style);
@@ -81,6 +83,12 @@ public class LaunchControl extends Composite {
     useRemoteLaunchControl = new Button(grpSettings, SWT.CHECK);
     useRemoteLaunchControl.setToolTipText(toolTip);
     useRemoteLaunchControl.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 2, 1));
+
+    appendLabel(grpSettings, UIMessages.LaunchConfigurationTab_StopAfterFailures, UIMessages.LaunchConfigurationTab_StopAfterFailures_tooltip);
+    stopAfterFailuresControl = new Spinner(grpSettings, SWT.BORDER);
+    stopAfterFailuresControl.setValues(0, 0, 9999, 0, 1, 10);
+    stopAfterFailuresControl.setToolTipText(UIMessages.LaunchConfigurationTab_StopAfterFailures_tooltip);
+    stopAfterFailuresControl.setLayoutData(new GridData(SWT.LEFT, SWT.CENTER, false, false, 2, 1));
   }
 
   void initializeFrom() {
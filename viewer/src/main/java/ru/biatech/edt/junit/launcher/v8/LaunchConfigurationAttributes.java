@@ -48,6 +48,8 @@ public final class LaunchConfigurationAttributes {
 
   public static final String RPC_KEY = PLUGIN_ID + ".launcher.RPC_KEY"; //$NON-NLS-1$
 
+  public static final String STOP_AFTER_FAILURES = PLUGIN_ID + ".launcher.STOP_AFTER_FAILURES"; //$NON-NLS-1$
+
   public static String getTargetConfigurationName(ILaunchConfiguration configuration) throws CoreException {
     return configuration.getAttribute(USED_LAUNCH_CONFIGURATION, (String) null);
   }
@@ -110,6 +112,14 @@ public final class LaunchConfigurationAttributes {
     }
   }
 
+  public static int getIntAttribute(ILaunchConfiguration configuration, String attributeName) {
+    try {
+      return configuration.getAttribute(attributeName, 0);
+    } catch (CoreException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   public static String getWorkPath(ILaunchConfiguration configuration) {
     return getAttribute(configuration, WORK_PATH);
   }
@@ -121,4 +131,11 @@ public final class LaunchConfigurationAttributes {
   public static boolean useRemoteLaunch(ILaunchConfiguration configuration) {
     return getBooleanAttribute(configuration, LaunchConfigurationAttributes.USE_REMOTE_LAUNCH);
   }
-}
\ No newline at end of file
+
+  /**
+   * Количество упавших тестов, после которого запуск останавливается, 0 - выполнять все тесты
+   */
+  public static int getStopAfterFailures(ILaunchConfiguration configuration) {
+    return getIntAttribute(configuration, STOP_AFTER_FAILURES);
+  }
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.model;
+
+import java.text.MessageFormat;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static ru.biatech.edt.junit.TestViewerPlugin.log;
+
+/**
+ * Останавливает выполнение тестов после заданного количества упавших тестов.
+ * <p>
+ * Считает упавшие и завершившиеся ошибкой тесты по мере их поступления в сессию
+ * (из дописываемого отчета или по каналу запуска без перезапуска клиента)
+ * и один раз вызывает действие остановки при достижении лимита. Действие возвращает {@code false},
+ * если останавливать нечего, например, запуск выполняется другим способом.
+ */
+public class FailFastListener implements ITestSessionListener {
+
+  private final Session session;
+  private final int limit;
+  private volatile BooleanSupplier stopAction;
+  private final AtomicInteger failures = new AtomicInteger();
+  private final AtomicBoolean stopped = new AtomicBoolean();
+
+  /**
+   * @param session    сессия, результаты которой отслеживаются
+   * @param limit      количество упавших тестов, после которого запуск останавливается
+   * @param stopAction действие, прерывающее запуск, возвращает признак остановки
+   */
+  public FailFastListener(Session session, int limit, BooleanSupplier stopAction) {
+    this.session = session;
+    this.limit = limit;
+    this.stopAction = stopAction;
+  }
+
+  /**
+   * Подключает отслеживание к сессии, если лимит задан
+   *
+   * @param session    сессия
+   * @param limit      количество упавших тестов, 0 - не останавливать запуск
+   * @param stopAction действие, прерывающее запуск
+   * @return подключенный обработчик или {@code null}, если лимит не задан
+   */
+  public static FailFastListener attach(Session session, int limit, BooleanSupplier stopAction) {
+    if (limit <= 0) {
+      return null;
+    }
+    var listener = new FailFastListener(session, limit, stopAction);
+    session.addTestSessionListener(listener);
+    return listener;
+  }
+
+  /**
+   * Заменяет действие остановки, например, когда запуск продолжается без перезапуска клиента
+   *
+   * @param stopAction действие, прерывающее запуск
+   */
+  public void setStopAction(BooleanSupplier stopAction) {
+    this.stopAction = stopAction;
+  }
+
+  @Override
+  public void sessionStarted() {
+  }
+
+  @Override
+  public void sessionEnded() {
+    session.removeTestSessionListener(this);
+  }
+
+  @Override
+  public void testAdded(ITestElement testElement) {
+  }
+
+  @Override
+  public void testStarted(ITestCaseElement testCaseElement) {
+  }
+
+  @Override
+  public void testEnded(ITestCaseElement testCaseElement) {
+    if (!testCaseElement.getStatus().isErrorOrFailure() || failures.incrementAndGet() < limit) {
+      return;
+    }
+    if (stopped.compareAndSet(false, true) && stopAction.getAsBoolean()) {
+      log().info(MessageFormat.format("Запуск {0} остановлен после {1} упавших тестов", getLaunchName(), limit));
+      session.stopTestRun();
+    }
+  }
+
+  private String getLaunchName() {
+    var launch = session.getLaunch();
+    var configuration = launch == null ? null : launch.getLaunchConfiguration();
+    return configuration == null ? session.getName() : configuration.getName();
+  }
+}
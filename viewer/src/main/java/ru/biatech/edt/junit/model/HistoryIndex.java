@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.model;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Индекс истории запусков.
+ * <p>
+ * Хранит сводку по каждой выгруженной сессии: имя, время запуска, счетчики и статус.
+ * По индексу строится список истории без загрузки результатов сессий.
+ */
+@UtilityClass
+class HistoryIndex {
+
+  private final String FILE_NAME = "index.bin"; //$NON-NLS-1$
+  private final int MAGIC = 0x59584849; // YXHI
+  private final int VERSION = 1;
+
+  /**
+   * Читает сводки сессий из индекса
+   *
+   * @param historyDirectory каталог истории
+   * @return сессии с выгруженными результатами, от новых к старым
+   * @throws IOException при ошибке чтения или несовпадении формата
+   */
+  List<Session> read(Path historyDirectory) throws IOException {
+    var file = historyDirectory.resolve(FILE_NAME);
+    var sessions = new ArrayList<Session>();
+    if (!Files.exists(file)) {
+      return sessions;
+    }
+    try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (input.readInt() != MAGIC || SessionStore.readVarInt(input) != VERSION) {
+        throw new IOException("Неизвестный формат индекса истории: " + file);
+      }
+      var count = SessionStore.readVarInt(input);
+      for (int i = 0; i < count; i++) {
+        sessions.add(Session.readSummary(input));
+      }
+    }
+    return sessions;
+  }
+
+  /**
+   * Записывает сводки сессий в индекс
+   *
+   * @param historyDirectory каталог истории
+   * @param sessions         сессии с выгруженными результатами, от новых к старым
+   * @throws IOException при ошибке записи
+   */
+  void write(Path historyDirectory, List<Session> sessions) throws IOException {
+    var file = historyDirectory.resolve(FILE_NAME);
+    var temp = historyDirectory.resolve(FILE_NAME + ".tmp"); //$NON-NLS-1$
+    try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+      output.writeInt(MAGIC);
+      SessionStore.writeVarInt(output, VERSION);
+      SessionStore.writeVarInt(output, sessions.size());
+      for (var session : sessions) {
+        session.writeSummary(output);
+      }
+    }
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * @param file файл в каталоге истории
+   * @return признак, это файл индекса
+   */
+  boolean isIndexFile(Path file) {
+    var name = file.getFileName().toString();
+    return name.equals(FILE_NAME) || name.equals(FILE_NAME + ".tmp"); //$NON-NLS-1$
+  }
+}
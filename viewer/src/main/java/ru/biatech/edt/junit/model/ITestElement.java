@@ -82,4 +82,13 @@ public interface ITestElement {
   String getName();
 
   Stream<ErrorInfo> getErrorsList();
+
+  /**
+   * Проверяет наличие ошибок у элемента
+   *
+   * @return <code>true</code>, если {@link #getErrorsList()} не пуст
+   */
+  default boolean hasErrors() {
+    return getErrorsList().findAny().isPresent();
+  }
 }
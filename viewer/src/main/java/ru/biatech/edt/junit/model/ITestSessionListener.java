@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.model;
+
+/**
+ * Слушатель изменений сессии тестирования, которая заполняется по мере выполнения тестов.
+ * <p>
+ * Методы могут вызываться из любого потока.
+ */
+public interface ITestSessionListener {
+
+  /**
+   * Сессия запущена, тестов в ней еще нет
+   */
+  void sessionStarted();
+
+  /**
+   * Выполнение тестов завершено, сессия больше не изменяется
+   */
+  void sessionEnded();
+
+  /**
+   * В сессию добавлен элемент (тестовый набор или тест)
+   *
+   * @param testElement добавленный элемент
+   */
+  void testAdded(ITestElement testElement);
+
+  /**
+   * Тест начал выполняться
+   *
+   * @param testCaseElement тест
+   */
+  void testStarted(ITestCaseElement testCaseElement);
+
+  /**
+   * Тест завершен, результат доступен в элементе
+   *
+   * @param testCaseElement тест
+   */
+  void testEnded(ITestCaseElement testCaseElement);
+}
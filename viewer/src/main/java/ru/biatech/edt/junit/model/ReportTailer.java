@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.model;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import ru.biatech.edt.junit.launcher.lifecycle.LifecycleItem;
+import ru.biatech.edt.junit.launcher.v8.LaunchHelper;
+import ru.biatech.edt.junit.model.report.StreamingReportLoader;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static ru.biatech.edt.junit.TestViewerPlugin.log;
+
+/**
+ * Фоновое задание, отслеживающее файл отчета, который дописывается во время выполнения тестов.
+ * <p>
+ * Каждый полностью записанный тестовый набор сразу добавляется в выполняющуюся сессию,
+ * недописанный хвост отчета разбирается при следующей проверке. Файл читается с конца
+ * последнего опубликованного набора, поэтому каждая часть отчета разбирается один раз.
+ * Наборы, прочитанные за одну проверку, добавляются в сессию вместе после разбора; если часть отчета
+ * повреждена, добавляются наборы до ошибки, а поврежденная часть пропускается и повторно не разбирается.
+ */
+class ReportTailer extends Job {
+
+  private static final long POLL_INTERVAL = 1000;
+  private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+  private static final byte[] SUITE_START = "<testsuite".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+  private static final byte[] SUITE_END = "</testsuite>".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+  private static final byte[] WRAPPER_START = "<testsuites>".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+  private static final byte[] WRAPPER_END = "</testsuites>".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+
+  private final Session session;
+  private final LifecycleItem item;
+  private final StreamingReportLoader<TestSuiteElement, TestCaseElement> loader;
+  private volatile boolean stopped;
+  private int publishedSuites;
+  private long lastSize = -1;
+  private long lastModified = -1;
+  /**
+   * Позиция в файле, с которой начинаются неопубликованные наборы, -1 - первый набор еще не найден
+   */
+  private long offset = -1;
+
+  ReportTailer(Session session, LifecycleItem item, StreamingReportLoader<TestSuiteElement, TestCaseElement> loader) {
+    super("Report tailer: " + item.getName()); //$NON-NLS-1$
+    this.session = session;
+    this.item = item;
+    this.loader = loader;
+    setSystem(true);
+  }
+
+  /**
+   * Создает загрузчик недописанного отчета без отслеживания файла, отчет читается только в {@link #finish(Path)}
+   *
+   * @param session сессия, в которую добавляются наборы
+   * @param loader  потоковый загрузчик
+   */
+  ReportTailer(Session session, StreamingReportLoader<TestSuiteElement, TestCaseElement> loader) {
+    super("Report tailer: " + session.getName()); //$NON-NLS-1$
+    this.session = session;
+    this.item = null;
+    this.loader = loader;
+    setSystem(true);
+  }
+
+  void start() {
+    schedule(POLL_INTERVAL);
+  }
+
+  /**
+   * Останавливает отслеживание и публикует наборы, дописанные с момента последней проверки
+   *
+   * @param reportPath путь к итоговому отчету, {@code null} - завершить без чтения отчета
+   */
+  synchronized void finish(Path reportPath) {
+    stopped = true;
+    cancel();
+    if (reportPath != null) {
+      publish(reportPath, true);
+    }
+  }
+
+  /**
+   * @return количество наборов, добавленных в сессию
+   */
+  int getPublishedSuites() {
+    return publishedSuites;
+  }
+
+  @Override
+  protected IStatus run(IProgressMonitor monitor) {
+    synchronized (this) {
+      if (stopped || monitor.isCanceled()) {
+        return Status.CANCEL_STATUS;
+      }
+      var reportPath = getReportPath();
+      if (reportPath != null) {
+        publish(reportPath, false);
+      }
+    }
+    if (!stopped) {
+      schedule(POLL_INTERVAL);
+    }
+    return Status.OK_STATUS;
+  }
+
+  private Path getReportPath() {
+    var launch = item == null ? null : item.getMainLaunch();
+    return launch == null ? null : LaunchHelper.getReportPath(launch.getLaunchConfiguration());
+  }
+
+  /**
+   * Публикует наборы, записанные в отчет с момента последней проверки
+   *
+   * @param reportPath путь к отчету
+   * @param force      проверить отчет, даже если он не изменился, и разобрать недописанные наборы
+   */
+  void publish(Path reportPath, boolean force) {
+    BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(reportPath, BasicFileAttributes.class);
+    } catch (IOException e) {
+      return; // Отчет еще не создан
+    }
+
+    var modified = attributes.lastModifiedTime().toMillis();
+    if (modified < session.getStartTime()) {
+      return; // Отчет от предыдущего запуска
+    }
+    if (!force && attributes.size() == lastSize && modified == lastModified) {
+      return;
+    }
+    lastSize = attributes.size();
+    lastModified = modified;
+
+    try (var channel = FileChannel.open(reportPath, StandardOpenOption.READ)) {
+      var size = channel.size();
+      var bounds = scan(channel, Math.max(offset, 0), size);
+      var begin = offset < 0 ? bounds.firstStart : offset;
+      if (begin < 0) {
+        return; // Ни один набор еще не начат
+      }
+      offset = begin;
+      if (bounds.lastEnd > begin) {
+        // Разбираются только полностью записанные наборы, прочитанные ранее повторно не читаются
+        var suites = new ArrayList<TestSuiteElement>();
+        try {
+          parse(channel, begin, bounds.lastEnd, true, suites);
+        } catch (XMLStreamException e) {
+          log().warning("Поврежденная часть отчета {0} пропущена: {1}", reportPath, e.getMessage());
+        }
+        offset = bounds.lastEnd;
+        suites.forEach(this::append);
+      }
+      if (force && bounds.lastStart >= offset) {
+        // Недописанные наборы в конце отчета, разбираются до первой ошибки
+        var suites = new ArrayList<TestSuiteElement>();
+        try {
+          parse(channel, offset, size, false, suites);
+        } catch (XMLStreamException e) {
+          log().warning("Отчет {0} загружен частично: {1}", reportPath, e.getMessage());
+        }
+        offset = size;
+        suites.forEach(this::append);
+      }
+    } catch (IOException e) {
+      log().logError("Не удалось прочитать отчет " + reportPath, e);
+    }
+  }
+
+  /**
+   * Разбирает тестовые наборы, записанные в файле в указанном диапазоне
+   *
+   * @param closed диапазон содержит только полностью записанные наборы
+   * @param suites приемник наборов, при ошибке содержит наборы, прочитанные до нее
+   */
+  private void parse(FileChannel channel, long from, long to, boolean closed, List<TestSuiteElement> suites) throws XMLStreamException {
+    var parts = new ArrayList<InputStream>(3);
+    parts.add(new ByteArrayInputStream(WRAPPER_START));
+    parts.add(new RangeInputStream(channel, from, to));
+    if (closed) {
+      parts.add(new ByteArrayInputStream(WRAPPER_END));
+    }
+    loader.read(new SequenceInputStream(Collections.enumeration(parts)), suites::add);
+  }
+
+  private void append(TestSuiteElement suite) {
+    session.appendSuite(suite);
+    publishedSuites++;
+  }
+
+  /**
+   * Ищет границы тестовых наборов в файле, читая его с указанной позиции.
+   * Разметку отчета формирует YAxUnit, поэтому теги ищутся как есть, без разбора XML
+   */
+  private static Bounds scan(FileChannel channel, long from, long to) throws IOException {
+    var bounds = new Bounds();
+    var buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+    var startMatched = 0;
+    var endMatched = 0;
+    for (var position = from; position < to; ) {
+      buffer.clear();
+      var read = channel.read(buffer, position);
+      if (read <= 0) {
+        break;
+      }
+      var bytes = buffer.array();
+      for (int i = 0; i < read; i++, position++) {
+        var b = bytes[i];
+        if (startMatched == SUITE_START.length) {
+          // "<testsuites" - корневой элемент, а не набор
+          if (b != 's') {
+            bounds.lastStart = position - SUITE_START.length;
+            if (bounds.firstStart < 0) {
+              bounds.firstStart = bounds.lastStart;
+            }
+          }
+          startMatched = 0;
+        }
+        startMatched = match(SUITE_START, startMatched, b);
+        endMatched = match(SUITE_END, endMatched, b);
+        if (endMatched == SUITE_END.length) {
+          bounds.lastEnd = position + 1;
+          endMatched = 0;
+        }
+      }
+    }
+    return bounds;
+  }
+
+  private static int match(byte[] pattern, int matched, byte b) {
+    if (b == pattern[matched]) {
+      return matched + 1;
+    }
+    // Шаблоны начинаются с '<' и больше его не содержат
+    return b == pattern[0] ? 1 : 0;
+  }
+
+  /**
+   * Позиции тестовых наборов в файле, -1 - не найдено
+   */
+  private static class Bounds {
+    long firstStart = -1;
+    long lastStart = -1;
+    long lastEnd = -1;
+  }
+
+  /**
+   * Поток чтения части файла, не зависящий от текущей позиции канала
+   */
+  private static class RangeInputStream extends InputStream {
+    private final FileChannel channel;
+    private final long to;
+    private long position;
+
+    RangeInputStream(FileChannel channel, long from, long to) {
+      this.channel = channel;
+      this.position = from;
+      this.to = to;
+    }
+
+    @Override
+    public int read() throws IOException {
+      var single = new byte[1];
+      return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (position >= to) {
+        return -1;
+      }
+      var read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, to - position)), position);
+      if (read > 0) {
+        position += read;
+      }
+      return read;
+    }
+  }
+}
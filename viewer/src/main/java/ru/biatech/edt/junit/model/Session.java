@@ -19,8 +19,10 @@
 package ru.biatech.edt.junit.model;
 
 import com._1c.g5.v8.dt.core.platform.IV8Project;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.debug.core.ILaunch;
 import ru.biatech.edt.junit.TestViewerPlugin;
 import ru.biatech.edt.junit.kinds.ITestKind;
@@ -31,10 +33,16 @@ import ru.biatech.edt.junit.model.report.Report;
 import ru.biatech.edt.junit.ui.utils.StringUtilities;
 import ru.biatech.edt.junit.v8utils.Projects;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -129,13 +137,126 @@ public class Session extends Report<TestSuiteElement> implements ITestRunSession
   @Setter
   private String excludeTags;
 
+  @Getter(AccessLevel.NONE)
+  private final ListenerList<ITestSessionListener> sessionListeners = new ListenerList<>();
+
+  /**
+   * Результаты выгружены в файл истории, {@link #testsuite} не заполнен
+   */
+  private volatile boolean swapped;
+
+  /**
+   * Файл истории содержит текущие результаты, повторная выгрузка не требует записи
+   */
+  @Getter(AccessLevel.NONE)
+  private boolean swapFileActual;
+
+  @Getter(AccessLevel.NONE)
+  private TestStatus swappedStatus;
+
+  @Getter(AccessLevel.NONE)
+  private double swappedElapsedTime;
+
+  /**
+   * Полные имена упавших тестов выгруженной сессии, доступны без загрузки результатов
+   */
+  @Getter(AccessLevel.NONE)
+  private List<String> swappedFailedTestNames;
+
+  /**
+   * Оценка занимаемой памяти, -1 - требуется пересчет
+   */
+  @Getter(AccessLevel.NONE)
+  private volatile long retainedSize = -1;
+
+  /**
+   * Количество представлений, отображающих сессию
+   */
+  @Getter(AccessLevel.NONE)
+  private int viewers;
+
   public Session() {
     testRunnerKind = ITestKind.NULL; //TODO
     startTime = System.currentTimeMillis();
-    testsuite = new TestSuiteElement[0];
+    testsuite = TestSuiteElement.EMPTY;
     reset();
   }
 
+  /**
+   * Создает сессию из сводки индекса истории, результаты остаются в файле истории
+   */
+  private Session(long startTime) {
+    testRunnerKind = ITestKind.NULL;
+    this.startTime = startTime;
+    swapped = true;
+    swapFileActual = true;
+  }
+
+  /**
+   * Записывает сводку выгруженной сессии для индекса истории
+   *
+   * @param output поток индекса
+   * @throws IOException при ошибке записи
+   */
+  void writeSummary(DataOutput output) throws IOException {
+    output.writeLong(startTime);
+    writeNullable(output, name);
+    writeNullable(output, projectName);
+    SessionStore.writeVarInt(output, startedCount);
+    SessionStore.writeVarInt(output, ignoredCount);
+    SessionStore.writeVarInt(output, assumptionFailureCount);
+    SessionStore.writeVarInt(output, errorCount);
+    SessionStore.writeVarInt(output, failureCount);
+    SessionStore.writeVarInt(output, totalCount);
+    output.writeUTF(getStatus().name());
+    output.writeDouble(getElapsedTimeInSeconds());
+    output.writeBoolean(stopped);
+    var failedTestNames = getAllFailedTestNames();
+    SessionStore.writeVarInt(output, failedTestNames.size());
+    for (var testName : failedTestNames) {
+      writeNullable(output, testName);
+    }
+  }
+
+  /**
+   * Восстанавливает выгруженную сессию по сводке из индекса истории
+   *
+   * @param input поток индекса
+   * @return сессия, результаты которой будут загружены при первом обращении
+   * @throws IOException при ошибке чтения
+   */
+  static Session readSummary(DataInput input) throws IOException {
+    var session = new Session(input.readLong());
+    session.name = readNullable(input);
+    session.projectName = readNullable(input);
+    session.startedCount = SessionStore.readVarInt(input);
+    session.ignoredCount = SessionStore.readVarInt(input);
+    session.assumptionFailureCount = SessionStore.readVarInt(input);
+    session.errorCount = SessionStore.readVarInt(input);
+    session.failureCount = SessionStore.readVarInt(input);
+    session.totalCount = SessionStore.readVarInt(input);
+    session.swappedStatus = TestStatus.valueOf(input.readUTF());
+    session.swappedElapsedTime = input.readDouble();
+    session.stopped = input.readBoolean();
+    var failedTestNames = new ArrayList<String>();
+    for (int count = SessionStore.readVarInt(input); count > 0; count--) {
+      failedTestNames.add(readNullable(input));
+    }
+    session.swappedFailedTestNames = Collections.unmodifiableList(failedTestNames);
+    return session;
+  }
+
+  private static void writeNullable(DataOutput output, String value) throws IOException {
+    output.writeBoolean(value != null);
+    if (value != null) {
+      SessionStore.writeString(output, value);
+    }
+  }
+
+  private static String readNullable(DataInput input) throws IOException {
+    return input.readBoolean() ? SessionStore.readString(input) : null;
+  }
+
   public void reset() {
     startedCount = 0;
     failureCount = 0;
@@ -152,8 +273,19 @@ public class Session extends Report<TestSuiteElement> implements ITestRunSession
     return null;
   }
 
+  @Override
+  public TestSuiteElement[] getTestsuite() {
+    // При выгрузке признак выставляется раньше, чем очищаются результаты, поэтому пустая ссылка
+    // всегда означает выгруженную сессию и загрузка выполняется под блокировкой
+    var suites = testsuite;
+    return suites != null ? suites : swapIn();
+  }
+
   @Override
   public TestStatus getStatus() {
+    if (swapped) {
+      return swappedStatus;
+    }
     if (getTestsuite().length == 0) {
       return TestStatus.NOT_RUN;
     }
@@ -194,6 +326,115 @@ public class Session extends Report<TestSuiteElement> implements ITestRunSession
     running = isStarting();
   }
 
+  public void addTestSessionListener(ITestSessionListener listener) {
+    sessionListeners.add(listener);
+  }
+
+  public void removeTestSessionListener(ITestSessionListener listener) {
+    sessionListeners.remove(listener);
+  }
+
+  /**
+   * Переводит сессию в состояние выполнения, результаты будут добавляться по мере их получения
+   */
+  void start() {
+    running = true;
+    sessionListeners.forEach(ITestSessionListener::sessionStarted);
+  }
+
+  /**
+   * Завершает выполнение сессии
+   */
+  void finish() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    sessionListeners.forEach(ITestSessionListener::sessionEnded);
+  }
+
+  /**
+   * Добавляет в выполняющуюся сессию полностью загруженный тестовый набор.
+   * Обновляет счетчики и оповещает слушателей о каждом тесте набора.
+   *
+   * @param suite тестовый набор
+   */
+  void appendSuite(TestSuiteElement suite) {
+    synchronized (this) {
+      suite.init();
+      var suites = Arrays.copyOf(testsuite, testsuite.length + 1);
+      suites[testsuite.length] = suite;
+      testsuite = suites;
+      account(suite);
+      retainedSize = -1;
+    }
+
+    sessionListeners.forEach(it -> it.testAdded(suite));
+    for (var test : suite.getTestcase()) {
+      sessionListeners.forEach(it -> it.testStarted(test));
+      sessionListeners.forEach(it -> it.testEnded(test));
+    }
+  }
+
+  /**
+   * Добавляет в выполняющуюся сессию тестовый набор, тесты которого будут поступать по мере выполнения
+   *
+   * @param suite тестовый набор, {@link TestSuiteElement#getTests()} - планируемое количество тестов
+   */
+  public void startSuite(TestSuiteElement suite) {
+    synchronized (this) {
+      suite.start();
+      var suites = Arrays.copyOf(testsuite, testsuite.length + 1);
+      suites[testsuite.length] = suite;
+      testsuite = suites;
+      totalCount += suite.getTests();
+      retainedSize = -1;
+    }
+    sessionListeners.forEach(it -> it.testAdded(suite));
+  }
+
+  /**
+   * Регистрирует начало выполнения теста
+   *
+   * @param suite тестовый набор, ранее добавленный через {@link #startSuite(TestSuiteElement)}
+   * @param test  тест
+   */
+  public void startTest(TestSuiteElement suite, TestCaseElement test) {
+    suite.addTestCase(test);
+    sessionListeners.forEach(it -> it.testAdded(test));
+    sessionListeners.forEach(it -> it.testStarted(test));
+  }
+
+  /**
+   * Регистрирует результат выполнения теста
+   *
+   * @param suite тестовый набор теста
+   * @param test  тест, ранее переданный в {@link #startTest(TestSuiteElement, TestCaseElement)}, с заполненным результатом
+   */
+  public void finishTest(TestSuiteElement suite, TestCaseElement test) {
+    synchronized (this) {
+      suite.finishTestCase(test);
+      switch (test.getStatus()) {
+        case ERROR:
+          errorCount++;
+          startedCount++;
+          break;
+        case FAILURE:
+          failureCount++;
+          startedCount++;
+          break;
+        case SKIPPED:
+          ignoredCount++;
+          break;
+        default:
+          startedCount++;
+      }
+      totalCount = Math.max(totalCount, startedCount + ignoredCount);
+      retainedSize = -1;
+    }
+    sessionListeners.forEach(it -> it.testEnded(test));
+  }
+
   public String getTestRunPresent() {
     return name + " " + DateFormat.getDateTimeInstance().format(new Date(startTime));
   }
@@ -208,29 +449,100 @@ public class Session extends Report<TestSuiteElement> implements ITestRunSession
     }
   }
 
-  public synchronized void swapOut() { // TODO Не ясно, нужно или нет
-//		if (fTestRoot == null)
-//			return;
-//		if (isRunning() || isStarting() || isKeptAlive())
-//			return;
-//
-//		for (ITestSessionListener registered : fSessionListeners) {
-//			if (! registered.acceptsSwapToDisk())
-//				return;
-//		}
-//
-//		try {
-//			File swapFile= getSwapFile();
-//
-//			JUnitModel.exportTestRunSession(this, swapFile);
-//			fTestResult= fTestRoot.getTestResult(true);
-//			fTestRoot= null;
-//			fTestRunnerClient= null;
-//			fUnrootedSuite= null;
-//
-//		} catch (IllegalStateException | CoreException e) {
-//			JUnitCorePlugin.log(e);
-//		}
+  /**
+   * Выгружает результаты завершенной сессии в файл истории.
+   * В памяти остаются только счетчики и итоговый статус, тесты загружаются при следующем обращении.
+   */
+  public synchronized void swapOut() {
+    if (swapped || testsuite == null || testsuite.length == 0 || isRunning() || isStarting() || isKeptAlive() || isShown()) {
+      return;
+    }
+
+    try {
+      var swapFile = getSwapFile().toPath();
+      if (!swapFileActual || !Files.exists(swapFile)) {
+        SessionStore.write(swapFile, testsuite);
+        swapFileActual = true;
+      }
+      swappedStatus = getStatus();
+      swappedElapsedTime = getElapsedTimeInSeconds();
+      swappedFailedTestNames = Collections.unmodifiableList(getAllFailedTestNames());
+      swapped = true;
+      testsuite = null;
+      retainedSize = SessionFootprint.SWAPPED;
+      TestViewerPlugin.log().debug("Сессия {0} выгружена в {1}", this, swapFile);
+    } catch (IOException | IllegalStateException e) {
+      TestViewerPlugin.log().logError("Не удалось выгрузить сессию в файл истории", e);
+    }
+  }
+
+  /**
+   * Загружает результаты сессии, ранее выгруженные в файл истории.
+   * Выполняет чтение файла, поэтому в потоке интерфейса выгруженную сессию следует загружать
+   * в фоновом задании (см. {@link #isSwapped()}).
+   * Результаты публикуются только после инициализации наборов.
+   *
+   * @return тестовые наборы сессии
+   */
+  private synchronized TestSuiteElement[] swapIn() {
+    if (!swapped) {
+      return testsuite;
+    }
+
+    TestSuiteElement[] suites;
+    try {
+      var swapFile = getSwapFile().toPath();
+      suites = SessionStore.read(swapFile);
+      TestViewerPlugin.log().debug("Сессия {0} загружена из {1}", this, swapFile);
+    } catch (IOException | IllegalStateException e) {
+      TestViewerPlugin.log().logError("Не удалось загрузить сессию из файла истории", e);
+      suites = TestSuiteElement.EMPTY;
+      swapFileActual = false;
+    }
+    reset();
+    for (var suite : suites) {
+      suite.init();
+      account(suite);
+    }
+    testsuite = suites;
+    swapped = false;
+    retainedSize = -1;
+    return suites;
+  }
+
+  /**
+   * Возвращает оценку памяти, занимаемой результатами сессии
+   *
+   * @return объем в байтах
+   */
+  public long getRetainedSize() {
+    var size = retainedSize;
+    if (size < 0) {
+      var suites = testsuite;
+      size = suites == null ? SessionFootprint.SWAPPED : SessionFootprint.estimate(suites);
+      if (!running) {
+        retainedSize = size;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Отмечает, что сессия отображается в представлении и не может быть выгружена
+   */
+  public synchronized void addViewer() {
+    viewers++;
+  }
+
+  public synchronized void removeViewer() {
+    viewers = Math.max(0, viewers - 1);
+  }
+
+  /**
+   * @return <code>true</code>, если сессия отображается хотя бы в одном представлении
+   */
+  public synchronized boolean isShown() {
+    return viewers > 0;
   }
 
   public boolean isStarting() {
@@ -242,25 +554,13 @@ public class Session extends Report<TestSuiteElement> implements ITestRunSession
     if (swapFile.exists()) {
       swapFile.delete();
     }
+    swapFileActual = false;
   }
 
-//	public synchronized void swapIn() {// TODO Не ясно, нужно или нет
-//		if (fTestRoot != null)
-//			return;
-//
-//		try {
-//			JUnitModel.importIntoTestRunSession(getSwapFile(), this);
-//		} catch (IllegalStateException | CoreException e) {
-//			JUnitCorePlugin.log(e);
-//			fTestRoot= Factory.createRoot(this);
-//			fTestResult= null;
-//		}
-//	}
-
-  private File getSwapFile() throws IllegalStateException {
+  File getSwapFile() throws IllegalStateException {
     var historyDir = TestViewerPlugin.core().getHistoryDirectory();
     var isoTime = new SimpleDateFormat("yyyyMMdd-HHmmss.SSS").format(new Date(getStartTime())); //$NON-NLS-1$
-    var swapFileName = isoTime + ".xml"; //$NON-NLS-1$
+    var swapFileName = isoTime + ".session"; //$NON-NLS-1$
     return new File(historyDir, swapFileName);
   }
 
@@ -282,7 +582,14 @@ public class Session extends Report<TestSuiteElement> implements ITestRunSession
         .toArray(ITestCaseElement[]::new);
   }
 
+  /**
+   * @return полные имена упавших тестов; для выгруженной сессии результаты не загружаются
+   */
   public List<String> getAllFailedTestNames() {
+    var swappedNames = swappedFailedTestNames;
+    if (swapped && swappedNames != null) {
+      return swappedNames;
+    }
     return getFailures()
         .map(ITestCaseElement::getClassName)
         .collect(Collectors.toList());
@@ -302,6 +609,9 @@ public class Session extends Report<TestSuiteElement> implements ITestRunSession
 
   @Override
   public double getElapsedTimeInSeconds() {
+    if (swapped) {
+      return swappedElapsedTime;
+    }
     return Arrays.stream(getTestsuite())
         .map(ITestElement::getElapsedTimeInSeconds)
         .mapToDouble(x -> x).sum();
@@ -317,6 +627,19 @@ public class Session extends Report<TestSuiteElement> implements ITestRunSession
     return Stream.empty();
   }
 
+  /**
+   * Сессии сравниваются по ссылке: сравнение содержимого потребовало бы загрузки выгруженных результатов
+   */
+  @Override
+  public boolean equals(Object o) {
+    return this == o;
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(this);
+  }
+
   @Override
   public String toString() {
     return name + " " + DateFormat.getDateTimeInstance().format(new Date(startTime)); //$NON-NLS-1$
@@ -331,11 +654,15 @@ public class Session extends Report<TestSuiteElement> implements ITestRunSession
 
     for (var suite : getTestsuite()) {
       suite.init();
-      errorCount += suite.getErrors();
-      failureCount += suite.getFailures();
-      totalCount += suite.getTests();
-      ignoredCount += suite.getSkipped();
+      account(suite);
     }
+  }
+
+  private void account(TestSuiteElement suite) {
+    errorCount += suite.getErrors();
+    failureCount += suite.getFailures();
+    totalCount += suite.getTests();
+    ignoredCount += suite.getSkipped();
     startedCount = totalCount - ignoredCount;
   }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.model;
+
+import lombok.experimental.UtilityClass;
+import ru.biatech.edt.junit.model.report.ErrorInfo;
+import ru.biatech.edt.junit.model.report.Failure;
+import ru.biatech.edt.junit.model.report.Property;
+
+/**
+ * Оценка объема памяти, занимаемого результатами сессии.
+ * <p>
+ * Оценка приблизительная: учитываются заголовки объектов, ссылки и строки (два байта на символ).
+ * Строки, общие для нескольких тестов, учитываются для каждого теста, поэтому оценка завышена.
+ */
+@UtilityClass
+class SessionFootprint {
+
+  private final int OBJECT = 16;
+  private final int REFERENCE = 8;
+  private final int STRING = 40;
+
+  /**
+   * Объем, занимаемый сессией, результаты которой выгружены на диск
+   */
+  final long SWAPPED = 1024;
+
+  long estimate(TestSuiteElement[] suites) {
+    if (suites == null) {
+      return SWAPPED;
+    }
+    long size = SWAPPED + array(suites.length);
+    for (var suite : suites) {
+      size += OBJECT + 20 * REFERENCE
+          + string(suite.getPackageName()) + string(suite.getClassName()) + string(suite.getName())
+          + string(suite.getHostname()) + string(suite.getContext())
+          + properties(suite.getProperty()) + errors(suite.getError());
+      var testCases = suite.getTestcase();
+      if (testCases == null) {
+        continue;
+      }
+      size += array(testCases.length);
+      for (var test : testCases) {
+        size += OBJECT + 14 * REFERENCE
+            + string(test.getClassName()) + string(test.getName()) + string(test.getContext())
+            + test.getOutputRetainedSize()
+            + properties(test.getProperty())
+            + errors(test.getSkipped()) + errors(test.getError()) + errors(test.getFailure());
+      }
+    }
+    return size;
+  }
+
+  private long errors(ErrorInfo[] errors) {
+    if (errors == null) {
+      return 0;
+    }
+    long size = array(errors.length);
+    for (var error : errors) {
+      size += OBJECT + 5 * REFERENCE + string(error.getMessage()) + string(error.getType()) + error.getTraceRetainedSize();
+      if (error instanceof Failure) {
+        size += string(((Failure) error).getExpected()) + string(((Failure) error).getActual());
+      }
+    }
+    return size;
+  }
+
+  private long properties(Property[] properties) {
+    if (properties == null) {
+      return 0;
+    }
+    long size = array(properties.length);
+    for (var property : properties) {
+      size += OBJECT + 2 * REFERENCE + string(property.getName()) + string(property.getValue());
+    }
+    return size;
+  }
+
+  private long array(int length) {
+    return OBJECT + (long) length * REFERENCE;
+  }
+
+  private long string(String value) {
+    return value == null ? 0 : STRING + 2L * value.length();
+  }
+}
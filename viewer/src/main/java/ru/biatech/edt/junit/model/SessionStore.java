@@ -0,0 +1,383 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.model;
+
+import lombok.experimental.UtilityClass;
+import ru.biatech.edt.junit.TestViewerPlugin;
+import ru.biatech.edt.junit.model.report.CompactText;
+import ru.biatech.edt.junit.model.report.ErrorInfo;
+import ru.biatech.edt.junit.model.report.Failure;
+import ru.biatech.edt.junit.model.report.Property;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Двоичный формат хранения результатов сессии в истории.
+ * <p>
+ * Структура файла:
+ * <ul>
+ *   <li>сигнатура и версия формата;</li>
+ *   <li>таблица строк: все строки сессии (имена, контексты, сообщения, стеки) записываются один раз,
+ *   далее на них ссылаются по номеру;</li>
+ *   <li>количество наборов и смещения каждого набора относительно начала блока наборов;</li>
+ *   <li>наборы с тестами.</li>
+ * </ul>
+ * Числа записываются в формате varint. Смещения позволяют продолжить чтение со следующего набора,
+ * если один из наборов поврежден.
+ * <p>
+ * После стеков вызовов и вывода тестов записывается ссылка на текст в файле подкачки ({@link CompactText.SpillRef}),
+ * чтобы при загрузке в том же сеансе работы не выносить тексты в файл подкачки повторно.
+ */
+@UtilityClass
+class SessionStore {
+
+  private final int MAGIC = 0x59584853; // YXHS
+  private final int VERSION = 1;
+
+  /**
+   * Записывает тестовые наборы сессии в файл
+   *
+   * @param file   файл
+   * @param suites тестовые наборы
+   * @throws IOException при ошибке записи
+   */
+  void write(Path file, TestSuiteElement[] suites) throws IOException {
+    var strings = new StringTable();
+    var body = new ByteArrayOutputStream();
+    var offsets = new int[suites.length];
+    var output = new DataOutputStream(body);
+    for (int i = 0; i < suites.length; i++) {
+      offsets[i] = output.size();
+      writeSuite(output, strings, suites[i]);
+    }
+    output.flush();
+
+    try (var stream = new DataOutputStream(Files.newOutputStream(file))) {
+      stream.writeInt(MAGIC);
+      writeVarInt(stream, VERSION);
+      strings.write(stream);
+      writeVarInt(stream, suites.length);
+      for (var offset : offsets) {
+        writeVarInt(stream, offset);
+      }
+      body.writeTo(stream);
+    }
+  }
+
+  /**
+   * Читает тестовые наборы сессии из файла
+   *
+   * @param file файл
+   * @return тестовые наборы; поврежденные наборы пропускаются
+   * @throws IOException при ошибке чтения или несовпадении формата
+   */
+  TestSuiteElement[] read(Path file) throws IOException {
+    var data = Files.readAllBytes(file);
+    var input = new DataInputStream(new ByteArrayInputStream(data));
+    if (input.readInt() != MAGIC) {
+      throw new IOException("Неизвестный формат файла истории: " + file);
+    }
+    if (readVarInt(input) != VERSION) {
+      throw new IOException("Неизвестный формат файла истории: " + file);
+    }
+    var strings = StringTable.read(input);
+    var count = readVarInt(input);
+    var offsets = new int[count];
+    for (int i = 0; i < count; i++) {
+      offsets[i] = readVarInt(input);
+    }
+    var bodyStart = data.length - input.available();
+
+    var suites = new ArrayList<TestSuiteElement>(count);
+    for (int i = 0; i < count; i++) {
+      var start = bodyStart + offsets[i];
+      var length = (i + 1 < count ? bodyStart + offsets[i + 1] : data.length) - start;
+      try {
+        suites.add(readSuite(new DataInputStream(new ByteArrayInputStream(data, start, length)), strings));
+      } catch (IOException | RuntimeException e) {
+        TestViewerPlugin.log().logError("Поврежден тестовый набор " + i + " в файле истории " + file, e);
+      }
+    }
+    return suites.toArray(TestSuiteElement.EMPTY);
+  }
+
+  private void writeSuite(DataOutput output, StringTable strings, TestSuiteElement suite) throws IOException {
+    writeVarInt(output, suite.getId());
+    strings.writeRef(output, suite.getPackageName());
+    strings.writeRef(output, suite.getClassName());
+    strings.writeRef(output, suite.getName());
+    writeVarLong(output, suite.getTimestamp() == null ? 0 : suite.getTimestamp().getTime() + 1);
+    strings.writeRef(output, suite.getHostname());
+    output.writeDouble(suite.getTime());
+    strings.writeRef(output, suite.getContext());
+    writeProperties(output, strings, suite.getProperty());
+    writeErrors(output, strings, suite.getError());
+
+    var testCases = suite.getTestcase() == null ? TestCaseElement.EMPTY : suite.getTestcase();
+    writeVarInt(output, testCases.length);
+    for (var testCase : testCases) {
+      strings.writeRef(output, testCase.getClassName());
+      strings.writeRef(output, testCase.getName());
+      output.writeDouble(testCase.getTime());
+      strings.writeRef(output, testCase.getContext());
+      writeProperties(output, strings, testCase.getProperty());
+      writeErrors(output, strings, testCase.getSkipped());
+      writeErrors(output, strings, testCase.getError());
+      writeErrors(output, strings, testCase.getFailure());
+      writeText(output, strings, testCase.getPackedSystemOut());
+      writeText(output, strings, testCase.getPackedSystemErr());
+    }
+  }
+
+  private TestSuiteElement readSuite(DataInput input, List<String> strings) throws IOException {
+    var suite = new TestSuiteElement();
+    suite.setId(readVarInt(input));
+    suite.setPackageName(readRef(input, strings));
+    suite.setClassName(readRef(input, strings));
+    suite.setName(readRef(input, strings));
+    var timestamp = readVarLong(input);
+    suite.setTimestamp(timestamp == 0 ? null : new Date(timestamp - 1));
+    suite.setHostname(readRef(input, strings));
+    suite.setTime(input.readDouble());
+    suite.setContext(readRef(input, strings));
+    suite.setProperty(readProperties(input, strings));
+    suite.setError(readErrors(input, strings, false));
+
+    var count = readVarInt(input);
+    var testCases = count == 0 ? TestCaseElement.EMPTY : new TestCaseElement[count];
+    for (int i = 0; i < testCases.length; i++) {
+      var testCase = new TestCaseElement();
+      testCase.setClassName(readRef(input, strings));
+      testCase.setName(readRef(input, strings));
+      testCase.setTime(input.readDouble());
+      testCase.setContext(readRef(input, strings));
+      testCase.setProperty(readProperties(input, strings));
+      testCase.setSkipped(readErrors(input, strings, false));
+      testCase.setError(readErrors(input, strings, false));
+      var failures = readErrors(input, strings, true);
+      testCase.setFailure(failures == null ? null : toFailures(failures));
+      testCase.setPackedSystemOut(readText(input, strings));
+      testCase.setPackedSystemErr(readText(input, strings));
+      testCases[i] = testCase;
+    }
+    suite.setTestcase(testCases);
+    return suite;
+  }
+
+  private void writeProperties(DataOutput output, StringTable strings, Property[] properties) throws IOException {
+    writeVarInt(output, properties == null ? 0 : properties.length + 1);
+    if (properties != null) {
+      for (var property : properties) {
+        strings.writeRef(output, property.getName());
+        strings.writeRef(output, property.getValue());
+      }
+    }
+  }
+
+  private Property[] readProperties(DataInput input, List<String> strings) throws IOException {
+    var count = readVarInt(input) - 1;
+    if (count < 0) {
+      return null;
+    }
+    var properties = new Property[count];
+    for (int i = 0; i < count; i++) {
+      properties[i] = new Property();
+      properties[i].setName(readRef(input, strings));
+      properties[i].setValue(readRef(input, strings));
+    }
+    return properties;
+  }
+
+  private void writeErrors(DataOutput output, StringTable strings, ErrorInfo[] errors) throws IOException {
+    writeVarInt(output, errors == null ? 0 : errors.length + 1);
+    if (errors == null) {
+      return;
+    }
+    for (var error : errors) {
+      strings.writeRef(output, error.getMessage());
+      strings.writeRef(output, error.getType());
+      writeText(output, strings, error.getPackedTrace());
+      if (error instanceof Failure) {
+        output.writeBoolean(true);
+        strings.writeRef(output, ((Failure) error).getExpected());
+        strings.writeRef(output, ((Failure) error).getActual());
+      } else {
+        output.writeBoolean(false);
+      }
+    }
+  }
+
+  private ErrorInfo[] readErrors(DataInput input, List<String> strings, boolean failures) throws IOException {
+    var count = readVarInt(input) - 1;
+    if (count < 0) {
+      return null;
+    }
+    var errors = new ErrorInfo[count];
+    for (int i = 0; i < count; i++) {
+      var message = readRef(input, strings);
+      var type = readRef(input, strings);
+      var trace = readText(input, strings);
+      ErrorInfo error;
+      if (input.readBoolean()) {
+        var failure = new Failure();
+        failure.setExpected(readRef(input, strings));
+        failure.setActual(readRef(input, strings));
+        error = failure;
+      } else {
+        error = failures ? new Failure() : new ErrorInfo();
+      }
+      error.setMessage(message);
+      error.setType(type);
+      error.setPackedTrace(trace);
+      errors[i] = error;
+    }
+    return errors;
+  }
+
+  /**
+   * Записывает текст, упакованный {@link CompactText}, и ссылку на него в файле подкачки
+   */
+  private void writeText(DataOutput output, StringTable strings, Object packed) throws IOException {
+    strings.writeRef(output, CompactText.unpack(packed));
+    var ref = CompactText.getSpillRef(packed);
+    output.writeBoolean(ref != null);
+    if (ref != null) {
+      writeVarLong(output, ref.getGeneration());
+      writeVarLong(output, ref.getOffset());
+      writeVarInt(output, ref.getCompressedSize());
+      writeVarInt(output, ref.getLength());
+      writeVarInt(output, ref.getSize());
+    }
+  }
+
+  private Object readText(DataInput input, List<String> strings) throws IOException {
+    var text = readRef(input, strings);
+    CompactText.SpillRef ref = null;
+    if (input.readBoolean()) {
+      ref = new CompactText.SpillRef(readVarLong(input), readVarLong(input), readVarInt(input), readVarInt(input), readVarInt(input));
+    }
+    return CompactText.restore(text, ref);
+  }
+
+  private Failure[] toFailures(ErrorInfo[] errors) {
+    var failures = new Failure[errors.length];
+    for (int i = 0; i < errors.length; i++) {
+      failures[i] = (Failure) errors[i];
+    }
+    return failures;
+  }
+
+  private String readRef(DataInput input, List<String> strings) throws IOException {
+    var index = readVarInt(input);
+    return index == 0 ? null : strings.get(index - 1);
+  }
+
+  void writeVarInt(DataOutput output, int value) throws IOException {
+    writeVarLong(output, value & 0xffffffffL);
+  }
+
+  int readVarInt(DataInput input) throws IOException {
+    return (int) readVarLong(input);
+  }
+
+  void writeVarLong(DataOutput output, long value) throws IOException {
+    while ((value & ~0x7fL) != 0) {
+      output.writeByte((int) ((value & 0x7f) | 0x80));
+      value >>>= 7;
+    }
+    output.writeByte((int) value);
+  }
+
+  long readVarLong(DataInput input) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      var b = input.readByte();
+      value |= (long) (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Некорректное значение varint");
+  }
+
+  /**
+   * Таблица строк сессии, строки нумеруются в порядке первого появления
+   */
+  private static class StringTable {
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    void writeRef(DataOutput output, String value) throws IOException {
+      if (value == null) {
+        writeVarInt(output, 0);
+        return;
+      }
+      var index = indexes.get(value);
+      if (index == null) {
+        index = strings.size();
+        indexes.put(value, index);
+        strings.add(value);
+      }
+      writeVarInt(output, index + 1);
+    }
+
+    void write(DataOutput output) throws IOException {
+      writeVarInt(output, strings.size());
+      for (var value : strings) {
+        writeString(output, value);
+      }
+    }
+
+    static List<String> read(DataInput input) throws IOException {
+      var count = readVarInt(input);
+      var strings = new ArrayList<String>(count);
+      for (int i = 0; i < count; i++) {
+        strings.add(readString(input));
+      }
+      return strings;
+    }
+  }
+
+  /**
+   * Записывает строку в UTF-8. В отличие от {@link DataOutput#writeUTF(String)} не ограничена 64 КБ
+   */
+  void writeString(DataOutput output, String value) throws IOException {
+    var bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(output, bytes.length);
+    output.write(bytes);
+  }
+
+  String readString(DataInput input) throws IOException {
+    var bytes = new byte[readVarInt(input)];
+    input.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
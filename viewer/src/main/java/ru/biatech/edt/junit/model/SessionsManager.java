@@ -23,27 +23,40 @@ import lombok.NonNull;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.ILaunch;
 import ru.biatech.edt.junit.BasicElementLabels;
 import ru.biatech.edt.junit.Core;
 import ru.biatech.edt.junit.Preferences;
 import ru.biatech.edt.junit.TestViewerPlugin;
+import ru.biatech.edt.junit.diagnostics.Metrics;
 import ru.biatech.edt.junit.launcher.lifecycle.LifecycleEvent;
 import ru.biatech.edt.junit.launcher.lifecycle.LifecycleItem;
 import ru.biatech.edt.junit.launcher.lifecycle.LifecycleListener;
 import ru.biatech.edt.junit.launcher.lifecycle.LifecycleMonitor;
+import ru.biatech.edt.junit.launcher.v8.LaunchConfigurationAttributes;
 import ru.biatech.edt.junit.launcher.v8.LaunchHelper;
 import ru.biatech.edt.junit.model.report.ReportLoader;
+import ru.biatech.edt.junit.model.report.StreamingReportLoader;
 import ru.biatech.edt.junit.ui.UIMessages;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 import static ru.biatech.edt.junit.TestViewerPlugin.log;
 
@@ -65,6 +78,11 @@ public final class SessionsManager {
   private final LinkedList<Session> sessions = new LinkedList<>();
   private LifecycleListener lifecycleListener;
   private Session activeSession;
+  private ReportTailer activeTailer;
+  /**
+   * Остановка активной сессии после заданного количества падений, {@code null} - лимит не задан
+   */
+  private FailFastListener activeFailFast;
 
   private static void dropFile(Path path) {
     try {
@@ -86,6 +104,7 @@ public final class SessionsManager {
 
       if (!Files.exists(reportPath)) {
         log().logError(UIMessages.JUnitModel_ReportFileNotFound);
+        stopActiveSession(null);
         return;
       }
 
@@ -117,14 +136,12 @@ public final class SessionsManager {
    * @throws CoreException if the import failed
    */
   public Session importSession(Path file) throws CoreException {
+    Metrics.count("session.import");
     Session session;
     try {
       log().debug("Загрузку отчета в новую сессию");
-      session = ReportLoader.load(file, Session.class);
-      if (session == null) {
-        log().logError(UIMessages.JUnitModel_ReportIsEmpty);
-        return null;
-      }
+      session = new Session();
+      ReportLoader.loadInto(file, session, newReportLoader());
     } catch (Exception e) {
       var message = MessageFormat.format(UIMessages.JUnitModel_could_not_read, BasicElementLabels.getPathLabel(file));
       throw new CoreException(log().createErrorStatus(message, e));
@@ -135,33 +152,228 @@ public final class SessionsManager {
 
   public void importActiveSession(Path file) {
     log().debug("Загрузку отчета в активную сессию");
-    ReportLoader.loadInto(file, activeSession);
-    appendSession(activeSession);
+    var session = activeSession;
+    var tailer = activeTailer;
     activeSession = null;
+    activeTailer = null;
+    activeFailFast = null;
+
+    if (tailer != null) {
+      tailer.finish(file);
+      if (tailer.getPublishedSuites() > 0) {
+        finishSession(session);
+        TestViewerPlugin.ui().asyncShowTestRunnerViewPart();
+        return;
+      }
+    }
+    try {
+      ReportLoader.loadInto(file, session, newReportLoader());
+    } catch (Exception e) {
+      // Отчет не дописан, например, процесс 1С остановлен: загружаются полностью записанные наборы
+      log().warning("Отчет {0} не загружен целиком: {1}", file, e.getMessage());
+      session.setTestsuite(new TestSuiteElement[0]);
+      new ReportTailer(session, newReportLoader()).finish(file);
+    }
+    appendSession(session);
   }
 
   public void importSession(TestSuiteElement[] data, ILaunch launch) {
-    var session = new Session();
-    session.setLaunch(launch);
-    session.setTestsuite(data);
+    finishRemoteSession(startRemoteSession(launch, null), data);
+  }
+
+  /**
+   * Возвращает сессию для запуска тестов без перезапуска клиента.
+   * Если для запуска уже создана активная сессия, результаты будут добавляться в нее.
+   *
+   * @param launch     запуск тестов
+   * @param stopAction действие, прерывающее запуск при достижении лимита падений, или {@code null}
+   * @return выполняющаяся сессия, отображаемая в панели результатов
+   */
+  public Session startRemoteSession(ILaunch launch, BooleanSupplier stopAction) {
+    var session = activeSession;
+    if (session != null && session.getLaunch() == launch) {
+      if (activeTailer != null) {
+        activeTailer.finish(null);
+      }
+      // Сессия создана при старте запуска, лимит падений уже отслеживается, меняется только способ остановки
+      if (activeFailFast != null && stopAction != null) {
+        activeFailFast.setStopAction(stopAction);
+      }
+      activeSession = null;
+      activeTailer = null;
+      activeFailFast = null;
+    } else {
+      session = newRunningSession(launch);
+      attachFailFast(session, stopAction);
+    }
+
+    if (!hasSession(session)) {
+      addSession(session);
+    }
+    return session;
+  }
+
+  /**
+   * Завершает сессию запуска без перезапуска клиента
+   *
+   * @param session сессия, полученная через {@link #startRemoteSession(ILaunch, BooleanSupplier)}
+   * @param data    итоговые результаты. Наборы, не поступавшие по мере выполнения (от клиентов без передачи событий,
+   *                наборы ошибок частей запуска), добавляются в сессию
+   */
+  public void finishRemoteSession(Session session, TestSuiteElement[] data) {
+    if (data != null && session.getTestsuite().length == 0) {
+      session.setTestsuite(data);
+    } else if (data != null) {
+      var received = Collections.newSetFromMap(new IdentityHashMap<TestSuiteElement, Boolean>());
+      received.addAll(Arrays.asList(session.getTestsuite()));
+      for (var suite : data) {
+        if (!received.contains(suite)) {
+          session.appendSuite(suite);
+        }
+      }
+    }
     appendSession(session);
   }
 
+  /**
+   * Завершает сессию запуска без перезапуска клиента, который не удалось начать. Пустая сессия удаляется
+   *
+   * @param session сессия, полученная через {@link #startRemoteSession(ILaunch, BooleanSupplier)}
+   */
+  public void abortRemoteSession(Session session) {
+    session.stopTestRun();
+    finishSession(session);
+    if (session.getTestsuite().length == 0) {
+      removeSession(session);
+    }
+  }
+
+  private static StreamingReportLoader<TestSuiteElement, TestCaseElement> newReportLoader() {
+    return new StreamingReportLoader<>(TestSuiteElement::new, TestCaseElement::new, TestSuiteElement[]::new, TestCaseElement[]::new);
+  }
+
   private void appendSession(Session session) {
-    session.init();
+    try (var ignored = Metrics.span("session.init")) {
+      session.init();
+    }
     if (session.getTestsuite().length == 0) {
       log().logError("Отчет пуст");
     }
-    instance.addSession(session);
+    if (!hasSession(session)) {
+      instance.addSession(session);
+    }
+    finishSession(session);
+    applyRetention();
 
     // TODO: Генерировать событие и отображать панель оттуда
     TestViewerPlugin.ui().asyncShowTestRunnerViewPart();
   }
 
   public void startSession(LifecycleItem item) {
-    activeSession = new Session();
-    activeSession.setLaunch(item.getTestLaunch());
-    log().debug("Start session: {0}", activeSession);
+    stopActiveSession(null);
+
+    var session = newRunningSession(item.getTestLaunch());
+    activeSession = session;
+    activeFailFast = attachFailFast(session, () -> terminateMainLaunch(item));
+    log().debug("Start session: {0}", session);
+
+    if (Preferences.getIncrementalReport()) {
+      activeTailer = new ReportTailer(session, item, newReportLoader());
+      activeTailer.start();
+      addSession(session);
+    }
+  }
+
+  /**
+   * Завершает процесс 1С:Предприятия. После завершения процесса загружается отчет, записанный к этому моменту
+   *
+   * @param item запуск тестов
+   * @return {@code false}, если процесс 1С не запускался, например, при запуске без перезапуска клиента
+   */
+  private static boolean terminateMainLaunch(LifecycleItem item) {
+    var mainLaunch = item.getMainLaunch();
+    if (mainLaunch == null || mainLaunch.isTerminated()) {
+      return false;
+    }
+    try {
+      mainLaunch.terminate();
+    } catch (DebugException e) {
+      log().logError("Не удалось остановить запуск " + item.getName(), e);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Завершает сессию и учитывает длительность выполненных в ней тестов
+   */
+  private static void finishSession(Session session) {
+    var running = session.isRunning();
+    session.finish();
+    if (running) {
+      TestViewerPlugin.core().getTestTimings().record(session);
+    }
+  }
+
+  /**
+   * Подключает остановку запуска после заданного в конфигурации количества падений.
+   * Вызывается один раз при создании сессии; если сессия затем используется для запуска без перезапуска клиента,
+   * меняется только действие остановки (см. {@link #startRemoteSession(ILaunch, BooleanSupplier)})
+   *
+   * @param session    новая сессия
+   * @param stopAction действие, прерывающее запуск, или {@code null}
+   * @return подключенный обработчик или {@code null}, если лимит не задан
+   */
+  private static FailFastListener attachFailFast(Session session, BooleanSupplier stopAction) {
+    if (stopAction == null) {
+      return null;
+    }
+    var configuration = session.getLaunch().getLaunchConfiguration();
+    if (configuration == null) {
+      return null;
+    }
+    return FailFastListener.attach(session, LaunchConfigurationAttributes.getStopAfterFailures(configuration), stopAction);
+  }
+
+  private static Session newRunningSession(ILaunch launch) {
+    var session = new Session();
+    session.setLaunch(launch);
+    session.addTestSessionListener(new TestRunListenerAdapter(session));
+    TestViewerPlugin.core().getNewTestRunListeners().forEach(it -> it.sessionLaunched(session));
+    session.start();
+    return session;
+  }
+
+  /**
+   * Завершает активную сессию без загрузки итогового отчета, например, при отмене запуска.
+   * В сессии остаются результаты, полученные к этому моменту, и полностью записанные наборы недописанного отчета.
+   *
+   * @param item прерванный запуск или {@code null}
+   */
+  private void stopActiveSession(LifecycleItem item) {
+    var session = activeSession;
+    var tailer = activeTailer;
+    activeSession = null;
+    activeTailer = null;
+    activeFailFast = null;
+    if (session == null) {
+      return;
+    }
+
+    var mainLaunch = item == null ? null : item.getMainLaunch();
+    var reportPath = mainLaunch == null ? null : LaunchHelper.getReportPath(mainLaunch.getLaunchConfiguration());
+    if (tailer == null && reportPath != null) {
+      // Отчет не отслеживался, загружаются наборы, записанные до остановки
+      tailer = new ReportTailer(session, newReportLoader());
+    }
+    if (tailer != null) {
+      tailer.finish(reportPath);
+    }
+    session.stopTestRun();
+    finishSession(session);
+    if (session.getTestsuite().length == 0) {
+      removeSession(session);
+    }
   }
 
   public void start() {
@@ -170,9 +382,12 @@ public final class SessionsManager {
         startSession(item);
       } else if (LifecycleEvent.isFinished(eventType)) {
         importSession(item);
+      } else if (LifecycleEvent.isStop(eventType)) {
+        stopActiveSession(item);
       }
     });
     addTestRunSessionListener(new SessionListener());
+    restoreHistory();
   }
 
   /**
@@ -180,11 +395,57 @@ public final class SessionsManager {
    */
   public void stop() {
     LifecycleMonitor.removeListener(lifecycleListener);
-    var historyDirectory = TestViewerPlugin.core().getHistoryDirectory();
-    var swapFiles = historyDirectory.listFiles();
-    if (swapFiles != null) {
-      for (var swapFile : swapFiles) {
-        dropFile(swapFile.toPath());
+    saveHistory();
+  }
+
+  /**
+   * Восстанавливает историю запусков по индексу. Результаты сессий загружаются при первом обращении
+   */
+  private void restoreHistory() {
+    List<Session> restored;
+    try {
+      var historyDirectory = TestViewerPlugin.core().getHistoryDirectory().toPath();
+      restored = HistoryIndex.read(historyDirectory);
+      restored.removeIf(session -> !session.getSwapFile().exists());
+    } catch (IOException | RuntimeException e) {
+      log().logError("Не удалось прочитать индекс истории запусков", e);
+      restored = new ArrayList<>();
+    }
+    synchronized (this) {
+      sessions.addAll(restored);
+    }
+    dropUnusedHistoryFiles();
+  }
+
+  /**
+   * Выгружает завершенные сессии и сохраняет индекс истории, файлы прочих сессий удаляются
+   */
+  private void saveHistory() {
+    var saved = new ArrayList<Session>();
+    for (var session : getSessions()) {
+      session.swapOut();
+      if (session.isSwapped()) {
+        saved.add(session);
+      }
+    }
+    try {
+      HistoryIndex.write(TestViewerPlugin.core().getHistoryDirectory().toPath(), saved);
+    } catch (IOException | RuntimeException e) {
+      log().logError("Не удалось сохранить индекс истории запусков", e);
+    }
+    dropUnusedHistoryFiles();
+  }
+
+  private void dropUnusedHistoryFiles() {
+    var files = TestViewerPlugin.core().getHistoryDirectory().listFiles();
+    if (files == null) {
+      return;
+    }
+    var used = new HashSet<File>();
+    getSessions().forEach(session -> used.add(session.getSwapFile()));
+    for (var file : files) {
+      if (!used.contains(file) && !HistoryIndex.isIndexFile(file.toPath())) {
+        dropFile(file.toPath());
       }
     }
   }
@@ -206,6 +467,10 @@ public final class SessionsManager {
     return new ArrayList<>(sessions);
   }
 
+  private synchronized boolean hasSession(Session session) {
+    return sessions.contains(session);
+  }
+
   /**
    * Adds the given {@link Session} and notifies all registered
    * {@link ISessionListener}s.
@@ -213,30 +478,109 @@ public final class SessionsManager {
    * @param session the session to add
    */
   public void addSession(@NonNull Session session) {
-    var toRemove = new ArrayList<Session>();
-
     synchronized (this) {
       Assert.isLegal(!sessions.contains(session));
       sessions.addFirst(session);
+    }
+    notifySessionAdded(session);
+    applyRetention();
+  }
+
+  /**
+   * Применяет политику хранения истории запусков.
+   * <p>
+   * Неактивные сессии сверх {@link Preferences#getMaxTestRuns()} и старше {@link Preferences#getHistoryMaxAge()}
+   * удаляются. Если результаты сессий занимают больше {@link Preferences#getHistoryMaxMemory()},
+   * неактивные сессии, начиная со старых, выгружаются на диск, а при ошибке выгрузки удаляются.
+   */
+  public void applyRetention() {
+    var toRemove = new ArrayList<Session>();
+    var inMemory = new ArrayList<Session>();
+    long retained = 0;
 
+    synchronized (this) {
       var maxCount = Preferences.getMaxTestRuns();
-      var size = sessions.size();
-      if (size > maxCount) {
-        var excess = sessions.subList(maxCount, size);
-        for (var iter = excess.iterator(); iter.hasNext(); ) {
-          var oldSession = iter.next();
-          if (!oldSession.isStarting() && !oldSession.isRunning() && !oldSession.isKeptAlive()) {
-            toRemove.add(oldSession);
-            iter.remove();
+      var maxAge = Preferences.getHistoryMaxAge();
+      var minStartTime = maxAge > 0 ? System.currentTimeMillis() - TimeUnit.DAYS.toMillis(maxAge) : 0;
+      var index = 0;
+      for (var iter = sessions.iterator(); iter.hasNext(); ) {
+        var session = iter.next();
+        index++;
+        if (!isIdle(session)) {
+          retained += session.getRetainedSize();
+          continue;
+        }
+        if (index > maxCount || session.getStartTime() > 0 && session.getStartTime() < minStartTime) {
+          toRemove.add(session);
+          iter.remove();
+        } else {
+          retained += session.getRetainedSize();
+          if (!session.isSwapped() && !session.isShown()) {
+            inMemory.add(0, session);
           }
         }
       }
     }
 
-    for (var oldSession : toRemove) {
-      notifySessionRemoved(oldSession);
+    var maxMemory = Preferences.getHistoryMaxMemory() * 1024L * 1024L;
+    if (maxMemory > 0) {
+      for (var session : inMemory) {
+        if (retained <= maxMemory) {
+          break;
+        }
+        var size = session.getRetainedSize();
+        session.swapOut();
+        if (session.isSwapped()) {
+          retained -= size - session.getRetainedSize();
+        } else {
+          log().warning("Сессия {0} не выгружена на диск и будет удалена из истории", session);
+          synchronized (this) {
+            sessions.remove(session);
+          }
+          toRemove.add(session);
+          retained -= size;
+        }
+      }
     }
-    notifySessionAdded(session);
+
+    for (var session : toRemove) {
+      notifySessionRemoved(session);
+      session.removeSwapFile();
+    }
+  }
+
+  /**
+   * Выгружает сессии в файлы истории и применяет политику хранения в фоновом задании.
+   * Используется из потока интерфейса, чтобы не писать файлы истории под блокировкой сессии.
+   *
+   * @param deactivated сессии, которые больше не отображаются
+   */
+  public void scheduleSwapOut(Collection<Session> deactivated) {
+    var toSwap = new ArrayList<>(deactivated);
+    Job.create("Выгрузка сессий в историю", monitor -> { //$NON-NLS-1$
+      toSwap.forEach(Session::swapOut);
+      applyRetention();
+    }).schedule();
+  }
+
+  /**
+   * Применяет политику хранения истории в фоновом задании
+   *
+   * @see #applyRetention()
+   */
+  public void scheduleRetention() {
+    scheduleSwapOut(Collections.emptyList());
+  }
+
+  /**
+   * @return оценка памяти, занимаемой результатами всех сессий истории, в байтах
+   */
+  public long getRetainedSize() {
+    return getSessions().stream().mapToLong(Session::getRetainedSize).sum();
+  }
+
+  private static boolean isIdle(Session session) {
+    return !session.isStarting() && !session.isRunning() && !session.isKeptAlive();
   }
 
   /**
@@ -16,33 +16,83 @@
 
 package ru.biatech.edt.junit.model;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import ru.biatech.edt.junit.model.report.CompactText;
 import ru.biatech.edt.junit.model.report.ErrorInfo;
 import ru.biatech.edt.junit.model.report.TestCase;
 
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+/**
+ * Тест сессии.
+ * <p>
+ * Для экономии памяти на больших сессиях статус хранится номером, а вывод теста ({@code system-out}, {@code system-err})
+ * большого объема - в сжатом виде или в файле подкачки, см. {@link CompactText}.
+ */
 @Getter
 @NoArgsConstructor
 public class TestCaseElement extends TestCase implements ITestCaseElement {
 
+  static final TestCaseElement[] EMPTY = new TestCaseElement[0];
+
+  private static final TestStatus[] STATUSES = TestStatus.values();
+  private static final TestResult[] RESULTS = Arrays.stream(STATUSES).map(TestStatus::convertToResult).toArray(TestResult[]::new);
+
   private ITestSuiteElement parent;
-  private TestStatus status = TestStatus.NOT_RUN;
+
+  @Getter(AccessLevel.NONE)
+  private byte status = (byte) TestStatus.NOT_RUN.ordinal();
 
   public String getDisplayName() {
     return getName();
   }
 
+  public TestStatus getStatus() {
+    return STATUSES[status];
+  }
+
+  /**
+   * Результат выполнения теста, без вычислений и выделения памяти
+   *
+   * @return результат
+   */
+  public TestResult getResult() {
+    return RESULTS[status];
+  }
+
   @Override
   public Stream<ErrorInfo> getErrorsList() {
+    if (!hasErrors()) {
+      return Stream.empty();
+    }
     return Stream.of(getError(), getFailure(), getSkipped())
         .filter(Objects::nonNull)
         .flatMap(Arrays::stream);
   }
 
+  /**
+   * @return <code>true</code>, если у теста есть ошибки, падения или причины пропуска
+   */
+  public boolean hasErrors() {
+    return isNotEmpty(error) || isNotEmpty(failure) || isNotEmpty(skipped);
+  }
+
+  /**
+   * Обходит ошибки теста в том же порядке, что и {@link #getErrorsList()}, без создания потока
+   *
+   * @param consumer обработчик ошибки
+   */
+  public void forEachError(Consumer<ErrorInfo> consumer) {
+    forEach(error, consumer);
+    forEach(failure, consumer);
+    forEach(skipped, consumer);
+  }
+
   @Override
   public String getMethodName() {
     String testName = getName();
@@ -56,7 +106,7 @@ public class TestCaseElement extends TestCase implements ITestCaseElement {
 
   @Override
   public TestResult getResultStatus(boolean includeChildren) {
-    return status.convertToResult();
+    return getResult();
   }
 
   @Override
@@ -64,6 +114,27 @@ public class TestCaseElement extends TestCase implements ITestCaseElement {
     return this.getTime();
   }
 
+  /**
+   * Тесты сравниваются по ссылке: сравнение содержимого затрагивает вывод и стеки вызовов всех тестов
+   */
+  @Override
+  public boolean equals(Object o) {
+    return this == o;
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(this);
+  }
+
+  /**
+   * Отмечает тест как выполняющийся, результат будет заполнен позже.
+   */
+  void start(TestSuiteElement suite) {
+    parent = suite;
+    setStatus(TestStatus.RUNNING);
+  }
+
   /**
    * Заполняет необходимые поля. Вызывается после полного заполнения.
    */
@@ -74,13 +145,29 @@ public class TestCaseElement extends TestCase implements ITestCaseElement {
 
   private void computeStatus() {
     if (getError() != null) {
-      status = TestStatus.ERROR;
+      setStatus(TestStatus.ERROR);
     } else if (getFailure() != null) {
-      status = TestStatus.FAILURE;
+      setStatus(TestStatus.FAILURE);
     } else if (getSkipped() != null) {
-      status = TestStatus.SKIPPED;
+      setStatus(TestStatus.SKIPPED);
     } else {
-      status = TestStatus.OK;
+      setStatus(TestStatus.OK);
+    }
+  }
+
+  private void setStatus(TestStatus value) {
+    status = (byte) value.ordinal();
+  }
+
+  private static boolean isNotEmpty(ErrorInfo[] errors) {
+    return errors != null && errors.length != 0;
+  }
+
+  private static void forEach(ErrorInfo[] errors, Consumer<ErrorInfo> consumer) {
+    if (errors != null) {
+      for (var error : errors) {
+        consumer.accept(error);
+      }
     }
   }
 }
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.model;
+
+import ru.biatech.edt.junit.TestRunListener;
+import ru.biatech.edt.junit.TestViewerPlugin;
+
+/**
+ * Транслирует события сессии зарегистрированным {@link TestRunListener}
+ */
+class TestRunListenerAdapter implements ITestSessionListener {
+
+  private final Session session;
+
+  TestRunListenerAdapter(Session session) {
+    this.session = session;
+  }
+
+  @Override
+  public void sessionStarted() {
+    TestViewerPlugin.core().getNewTestRunListeners().forEach(it -> it.sessionStarted(session));
+  }
+
+  @Override
+  public void sessionEnded() {
+    TestViewerPlugin.core().getNewTestRunListeners().forEach(it -> it.sessionFinished(session));
+  }
+
+  @Override
+  public void testAdded(ITestElement testElement) {
+  }
+
+  @Override
+  public void testStarted(ITestCaseElement testCaseElement) {
+    TestViewerPlugin.core().getNewTestRunListeners().forEach(it -> it.testCaseStarted(testCaseElement));
+  }
+
+  @Override
+  public void testEnded(ITestCaseElement testCaseElement) {
+    TestViewerPlugin.core().getNewTestRunListeners().forEach(it -> it.testCaseFinished(testCaseElement));
+  }
+}
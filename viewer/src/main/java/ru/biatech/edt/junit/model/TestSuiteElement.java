@@ -28,8 +28,10 @@ public class TestSuiteElement extends TestSuite<TestCaseElement> implements ITes
   private TestStatus status;
   private TestStatus childrenStatus;
 
+  static final TestSuiteElement[] EMPTY = new TestSuiteElement[0];
+
   public TestSuiteElement() {
-    testcase = new TestCaseElement[0];
+    testcase = TestCaseElement.EMPTY;
   }
 
   @Override
@@ -61,6 +63,19 @@ public class TestSuiteElement extends TestSuite<TestCaseElement> implements ITes
     return getTestcase();
   }
 
+  /**
+   * Наборы сравниваются по ссылке: сравнение содержимого перебирает все тесты набора
+   */
+  @Override
+  public boolean equals(Object o) {
+    return this == o;
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(this);
+  }
+
   @Override
   public String getDisplayName() {
     return getName() != null ? getName() : getClassName();
@@ -88,6 +103,50 @@ public class TestSuiteElement extends TestSuite<TestCaseElement> implements ITes
     return cumulated;
   }
 
+  /**
+   * Готовит набор к получению тестов по мере их выполнения.
+   */
+  void start() {
+    failures = 0;
+    errors = 0;
+    skipped = 0;
+    status = TestStatus.RUNNING;
+    childrenStatus = TestStatus.RUNNING;
+  }
+
+  /**
+   * Добавляет в выполняющийся набор начатый тест
+   *
+   * @param test тест
+   */
+  synchronized void addTestCase(TestCaseElement test) {
+    var tests = Arrays.copyOf(testcase, testcase.length + 1);
+    tests[testcase.length] = test;
+    testcase = tests;
+    test.start(this);
+  }
+
+  /**
+   * Учитывает результат завершенного теста
+   *
+   * @param test тест, результат которого заполнен
+   */
+  synchronized void finishTestCase(TestCaseElement test) {
+    test.init(this);
+    switch (test.getStatus()) {
+      case ERROR:
+        errors++;
+        break;
+      case FAILURE:
+        failures++;
+        break;
+      case SKIPPED:
+        skipped++;
+        break;
+    }
+    childrenStatus = TestStatus.combineStatus(childrenStatus, test.getStatus());
+  }
+
   /**
    * Заполняет необходимые поля. Вызывается после полного заполнения.
    */
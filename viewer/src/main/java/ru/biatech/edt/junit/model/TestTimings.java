@@ -0,0 +1,343 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.model;
+
+import lombok.Value;
+import ru.biatech.edt.junit.Preferences;
+import ru.biatech.edt.junit.TestViewerPlugin;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * История длительности выполнения тестов.
+ * <p>
+ * Журнал хранит длительность каждого теста (полное имя метода, {@link ITestCaseElement#getClassName()}) в каждом
+ * завершенном запуске, суммарно по всем контекстам, и не зависит от очистки истории сессий. По журналу вычисляется
+ * скользящее среднее, которое используется для распределения тестов между клиентами, и базовая длительность
+ * для отчета о замедлившихся тестах ({@link TimingReport}).
+ * <p>
+ * Файл дописывается в конец, при превышении удвоенного {@link Preferences#getTimingLogRuns()} запусков
+ * перезаписывается с последними запусками. Тесты, которые не выполнялись в сохраненных запусках
+ * (переименованные, удаленные), при этом удаляются из истории.
+ * <p>
+ * Формат файла (UTF-8, разделитель - табуляция, имена тестов в нижнем регистре):
+ * <pre>
+ * run  &lt;время начала сессии&gt;  &lt;количество тестов&gt;
+ * &lt;длительность, с&gt;  &lt;полное имя теста&gt;
+ * ...
+ * </pre>
+ * Незавершенная запись (количество строк меньше заявленного) при чтении отбрасывается.
+ */
+public class TestTimings {
+
+  /**
+   * Оценка длительности теста, если история отсутствует полностью
+   */
+  public static final double DEFAULT_ESTIMATE = 1.0;
+  private static final String FILE_NAME = "timings.log"; //$NON-NLS-1$
+  private static final String RUN_MARKER = "run"; //$NON-NLS-1$
+  private static final char SEPARATOR = '\t';
+  /**
+   * Вес последнего замера в скользящем среднем
+   */
+  private static final double ALPHA = 0.3;
+
+  /**
+   * Скользящее среднее время выполнения по ключам тестов, {@code null} - журнал еще не прочитан
+   */
+  private Map<String, Double> averages;
+
+  /**
+   * Количество запусков в журнале
+   */
+  private int runsCount;
+
+  /**
+   * Дописывает в журнал длительности тестов завершенной сессии и учитывает их в скользящем среднем
+   *
+   * @param session сессия тестирования
+   */
+  public synchronized void record(Session session) {
+    var times = collect(session, null);
+    if (times.isEmpty()) {
+      return;
+    }
+    var data = getAverages();
+    times.forEach((key, time) -> accumulate(data, key, time));
+
+    var file = getFile();
+    try {
+      try (var writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+        write(writer, new Run(session.getStartTime(), times));
+      }
+      runsCount++;
+      if (runsCount > Preferences.getTimingLogRuns() * 2) {
+        compact(file);
+      }
+    } catch (IOException e) {
+      TestViewerPlugin.log().logError("Не удалось записать журнал длительности тестов", e);
+    }
+  }
+
+  /**
+   * Возвращает оценку длительности тестов.
+   * Для тестов без истории используется средняя длительность известных тестов списка,
+   * а если таких нет - средняя длительность по всей истории.
+   *
+   * @param tests полные имена тестов
+   * @return оценки длительности в секундах, в порядке списка тестов
+   */
+  public synchronized double[] estimate(List<String> tests) {
+    var data = getAverages();
+    var result = new double[tests.size()];
+    var known = 0;
+    var knownSum = 0.0;
+    for (int i = 0; i < result.length; i++) {
+      var average = data.get(key(tests.get(i)));
+      if (average == null) {
+        result[i] = -1;
+      } else {
+        result[i] = average;
+        known++;
+        knownSum += average;
+      }
+    }
+    if (known == result.length) {
+      return result;
+    }
+
+    double defaultEstimate;
+    if (known > 0) {
+      defaultEstimate = knownSum / known;
+    } else if (!data.isEmpty()) {
+      defaultEstimate = data.values().stream().mapToDouble(Double::doubleValue).average().orElse(DEFAULT_ESTIMATE);
+    } else {
+      defaultEstimate = DEFAULT_ESTIMATE;
+    }
+    Arrays.setAll(result, i -> result[i] < 0 ? defaultEstimate : result[i]);
+    return result;
+  }
+
+  /**
+   * Читает последние запуски, предшествующие сессии, для вычисления базовой длительности ее тестов.
+   * Файл читается последовательно, в памяти остаются только длительности тестов сессии в последних запусках.
+   *
+   * @param session сессия
+   * @param runs    максимальное количество запусков
+   * @return запуски от старых к новым, сама сессия исключается
+   */
+  public synchronized List<Run> readHistory(Session session, int runs) {
+    var tests = collect(session, null).keySet();
+    var recent = new ArrayDeque<Run>(runs + 1);
+    try {
+      forEachRun(getFile(), tests, run -> {
+        if (run.getStartTime() == session.getStartTime()) {
+          return;
+        }
+        recent.addLast(run);
+        if (recent.size() > runs) {
+          recent.removeFirst();
+        }
+      });
+    } catch (IOException e) {
+      TestViewerPlugin.log().logError("Не удалось прочитать журнал длительности тестов", e);
+    }
+    return new ArrayList<>(recent);
+  }
+
+  /**
+   * Собирает длительности выполненных тестов сессии
+   *
+   * @param session сессия
+   * @param names   заполняется полными именами тестов по ключам или {@code null}
+   * @return длительности в секундах по ключам тестов, в порядке тестов сессии
+   */
+  static Map<String, Double> collect(Session session, Map<String, String> names) {
+    var times = new LinkedHashMap<String, Double>();
+    for (var suite : session.getTestsuite()) {
+      for (var test : suite.getTestcase()) {
+        var status = test.getStatus();
+        if (status == TestStatus.NOT_RUN || status == TestStatus.RUNNING || status == TestStatus.SKIPPED) {
+          continue;
+        }
+        var key = key(test.getClassName());
+        if (key == null) {
+          continue;
+        }
+        times.merge(key, test.getTime(), Double::sum);
+        if (names != null) {
+          names.putIfAbsent(key, test.getClassName());
+        }
+      }
+    }
+    return times;
+  }
+
+  /**
+   * @param testName полное имя теста
+   * @return ключ теста в журнале или {@code null}
+   */
+  static String key(String testName) {
+    return testName == null ? null : testName.trim().replace('\n', ' ').toLowerCase(Locale.ROOT);
+  }
+
+  private Map<String, Double> getAverages() {
+    if (averages == null) {
+      var data = new HashMap<String, Double>();
+      var count = new int[1];
+      try {
+        forEachRun(getFile(), null, run -> {
+          run.getTimes().forEach((key, time) -> accumulate(data, key, time));
+          count[0]++;
+        });
+      } catch (IOException e) {
+        TestViewerPlugin.log().logError("Не удалось прочитать журнал длительности тестов", e);
+      }
+      averages = data;
+      runsCount = count[0];
+    }
+    return averages;
+  }
+
+  private static void accumulate(Map<String, Double> data, String key, double time) {
+    data.merge(key, time, (average, value) -> average + ALPHA * (value - average));
+  }
+
+  /**
+   * Оставляет в журнале последние запуски и пересчитывает по ним скользящее среднее
+   */
+  private void compact(Path file) throws IOException {
+    var skip = runsCount - Preferences.getTimingLogRuns();
+    var data = new HashMap<String, Double>();
+    var index = new int[1];
+    var temp = file.resolveSibling(FILE_NAME + ".tmp"); //$NON-NLS-1$
+    try (var writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+      forEachRun(file, null, run -> {
+        if (index[0]++ < skip) {
+          return;
+        }
+        try {
+          write(writer, run);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        run.getTimes().forEach((key, time) -> accumulate(data, key, time));
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    averages = data;
+    runsCount = Math.max(0, index[0] - skip);
+  }
+
+  private static void write(BufferedWriter writer, Run run) throws IOException {
+    var builder = new StringBuilder();
+    builder.append(RUN_MARKER).append(SEPARATOR).append(run.getStartTime()).append(SEPARATOR).append(run.getTimes().size()).append('\n');
+    run.getTimes().forEach((key, time) -> builder.append(time).append(SEPARATOR).append(key).append('\n'));
+    writer.write(builder.toString());
+  }
+
+  /**
+   * Последовательно читает запуски из журнала
+   *
+   * @param file     файл журнала
+   * @param tests    ключи тестов, длительности которых нужно прочитать, или {@code null} - все тесты
+   * @param consumer обработчик запуска, вызывается от старых запусков к новым
+   */
+  private static void forEachRun(Path file, Set<String> tests, Consumer<Run> consumer) throws IOException {
+    if (!Files.exists(file)) {
+      return;
+    }
+    try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      Map<String, Double> times = null;
+      long startTime = 0;
+      int expected = 0;
+      int read = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        var separator = line.indexOf(SEPARATOR);
+        if (separator < 0) {
+          times = null;
+          continue;
+        }
+        Run complete = null;
+        try {
+          if (line.startsWith(RUN_MARKER + SEPARATOR)) {
+            var parts = line.split(String.valueOf(SEPARATOR));
+            startTime = Long.parseLong(parts[1]);
+            expected = Integer.parseInt(parts[2]);
+            read = 0;
+            times = new LinkedHashMap<>();
+          } else if (times != null) {
+            var key = line.substring(separator + 1);
+            var time = Double.parseDouble(line.substring(0, separator));
+            if (tests == null || tests.contains(key)) {
+              times.put(key, time);
+            }
+            if (++read == expected) {
+              complete = new Run(startTime, times);
+              times = null;
+            }
+          }
+        } catch (RuntimeException e) {
+          // Поврежденная запись пропускается до начала следующего запуска
+          times = null;
+        }
+        if (complete != null) {
+          consumer.accept(complete);
+        }
+      }
+    }
+  }
+
+  private static Path getFile() {
+    return TestViewerPlugin.getDefault().getStateLocation().append(FILE_NAME).toFile().toPath();
+  }
+
+  /**
+   * Длительности тестов одного запуска
+   */
+  @Value
+  public static class Run {
+    /**
+     * Время начала сессии
+     */
+    long startTime;
+    /**
+     * Длительности в секундах по ключам тестов
+     */
+    Map<String, Double> times;
+  }
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.model;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Отчет о длительности тестов сессии: самые медленные тесты и тесты, замедлившиеся относительно предыдущих запусков
+ */
+@Value
+public class TimingReport {
+
+  /**
+   * Минимальное абсолютное замедление в секундах, меньшие отклонения считаются погрешностью измерения
+   */
+  public static final double MIN_REGRESSION = 0.05;
+
+  /**
+   * Тесты сессии по убыванию длительности
+   */
+  List<Entry> slowest;
+  /**
+   * Замедлившиеся тесты по убыванию замедления
+   */
+  List<Entry> regressed;
+  /**
+   * Количество предыдущих запусков, по которым вычислена базовая длительность
+   */
+  int baselineRuns;
+
+  /**
+   * Формирует отчет
+   *
+   * @param session          сессия, для которой формируется отчет
+   * @param history          запуски из {@link TestTimings#readHistory(Session, int)}, от старых к новым
+   * @param baselineRuns     количество предыдущих запусков для вычисления базовой длительности
+   * @param thresholdPercent порог замедления в процентах
+   * @param limit            максимальное количество тестов в каждом списке
+   * @return отчет
+   */
+  public static TimingReport build(Session session, List<TestTimings.Run> history, int baselineRuns, int thresholdPercent, int limit) {
+    var names = new HashMap<String, String>();
+    var times = TestTimings.collect(session, names);
+
+    // Предыдущие запуски, сама сессия (если уже записана в журнал) исключается
+    var previous = new ArrayList<Map<String, Double>>(baselineRuns);
+    for (int i = history.size() - 1; i >= 0 && previous.size() < baselineRuns; i--) {
+      var run = history.get(i);
+      if (run.getStartTime() != session.getStartTime()) {
+        previous.add(run.getTimes());
+      }
+    }
+
+    var entries = new ArrayList<Entry>(times.size());
+    times.forEach((key, time) -> entries.add(new Entry(names.get(key), time, baseline(key, previous))));
+
+    var slowest = new ArrayList<>(entries);
+    slowest.sort(Comparator.comparingDouble(Entry::getTime).reversed());
+
+    var factor = 1 + thresholdPercent / 100.0;
+    var regressed = new ArrayList<Entry>();
+    for (var entry : entries) {
+      var baseline = entry.getBaseline();
+      if (baseline >= 0 && entry.getTime() > baseline * factor && entry.getTime() - baseline >= MIN_REGRESSION) {
+        regressed.add(entry);
+      }
+    }
+    regressed.sort(Comparator.comparingDouble((Entry entry) -> entry.getTime() - entry.getBaseline()).reversed());
+
+    return new TimingReport(truncate(slowest, limit), truncate(regressed, limit), previous.size());
+  }
+
+  /**
+   * Медиана длительности теста в предыдущих запусках
+   *
+   * @return медиана или -1, если тест не выполнялся
+   */
+  private static double baseline(String key, List<Map<String, Double>> previous) {
+    var values = new double[previous.size()];
+    int count = 0;
+    for (var run : previous) {
+      var time = run.get(key);
+      if (time != null) {
+        values[count++] = time;
+      }
+    }
+    if (count == 0) {
+      return -1;
+    }
+    Arrays.sort(values, 0, count);
+    return count % 2 == 1 ? values[count / 2] : (values[count / 2 - 1] + values[count / 2]) / 2;
+  }
+
+  private static List<Entry> truncate(List<Entry> entries, int limit) {
+    return entries.size() > limit ? List.copyOf(entries.subList(0, limit)) : entries;
+  }
+
+  /**
+   * Длительность теста
+   */
+  @Value
+  public static class Entry {
+    /**
+     * Полное имя теста
+     */
+    String name;
+    /**
+     * Длительность в сессии, с
+     */
+    double time;
+    /**
+     * Базовая длительность (медиана предыдущих запусков), с; -1 - нет данных
+     */
+    double baseline;
+
+    /**
+     * @return изменение длительности относительно базовой в процентах или {@link Double#NaN}, если базовой нет
+     */
+    public double getChange() {
+      return baseline > 0 ? (time - baseline) * 100 / baseline : Double.NaN;
+    }
+  }
+}
@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.model.report;
+
+import lombok.Value;
+import ru.biatech.edt.junit.TestViewerPlugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Большой текст (вывод теста, стек вызовов), хранимый в сжатом виде.
+ * <p>
+ * Тексты короче {@link #THRESHOLD} символов хранятся как есть: {@link #pack(String)} возвращает саму строку.
+ * Длинные тексты сжимаются, а тексты длиннее {@link #SPILL_THRESHOLD} символов после сжатия
+ * выносятся в файл подкачки ({@link SpillFile}) и читаются с диска только при обращении.
+ * Поэтому упаковка применяется для данных, которые редко просматриваются.
+ * <p>
+ * При выгрузке сессии в историю для текстов из файла подкачки сохраняется {@link SpillRef},
+ * и при загрузке сессии в том же сеансе работы текст не записывается в файл подкачки повторно.
+ */
+public final class CompactText {
+
+  /**
+   * Минимальная длина текста, начиная с которой он хранится в сжатом виде
+   */
+  static final int THRESHOLD = 4096;
+
+  /**
+   * Минимальная длина текста, начиная с которой он выносится в файл подкачки
+   */
+  static final int SPILL_THRESHOLD = 32 * 1024;
+
+  /**
+   * Подставляется вместо текста, который не удалось прочитать из файла подкачки
+   */
+  static final String UNAVAILABLE = "<текст недоступен: файл подкачки не прочитан>"; //$NON-NLS-1$
+
+  /**
+   * Сжатые данные или {@code null}, если данные вынесены в файл подкачки
+   */
+  private final byte[] data;
+  private final long offset;
+  private final long generation;
+  private final int compressedSize;
+  private final int length;
+  private final int size;
+
+  private CompactText(byte[] data, long offset, long generation, int compressedSize, int length, int size) {
+    this.data = data;
+    this.offset = offset;
+    this.generation = generation;
+    this.compressedSize = compressedSize;
+    this.length = length;
+    this.size = size;
+  }
+
+  /**
+   * Упаковывает текст
+   *
+   * @param text текст
+   * @return сам текст, если он короткий, иначе {@link CompactText}
+   */
+  public static Object pack(String text) {
+    if (text == null || text.length() < THRESHOLD) {
+      return text;
+    }
+    var bytes = text.getBytes(StandardCharsets.UTF_8);
+    var compressed = deflate(bytes);
+    if (compressed.length >= bytes.length) {
+      return text;
+    }
+    if (text.length() >= SPILL_THRESHOLD) {
+      try {
+        var spillFile = SpillFile.getDefault();
+        var offset = spillFile.append(compressed);
+        if (offset >= 0) {
+          return new CompactText(null, offset, spillFile.getGeneration(), compressed.length, text.length(), bytes.length);
+        }
+      } catch (IOException e) {
+        TestViewerPlugin.log().logError("Не удалось записать текст в файл подкачки", e);
+      }
+    }
+    return new CompactText(compressed, -1, 0, compressed.length, text.length(), bytes.length);
+  }
+
+  /**
+   * Возвращает ссылку на текст в файле подкачки для сохранения вместе с текстом
+   *
+   * @param packed результат {@link #pack(String)}
+   * @return ссылка или {@code null}, если текст хранится в памяти или файл подкачки уже пересоздан
+   */
+  public static SpillRef getSpillRef(Object packed) {
+    if (!(packed instanceof CompactText)) {
+      return null;
+    }
+    var text = (CompactText) packed;
+    if (text.data != null || !SpillFile.getDefault().isCurrent(text.generation)) {
+      return null;
+    }
+    return new SpillRef(text.generation, text.offset, text.compressedSize, text.length, text.size);
+  }
+
+  /**
+   * Восстанавливает упакованный текст. Если ссылка на файл подкачки еще действительна,
+   * текст не упаковывается и не записывается в файл повторно
+   *
+   * @param text исходный текст
+   * @param ref  ссылка, полученная {@link #getSpillRef(Object)}, или {@code null}
+   * @return упакованный текст, как у {@link #pack(String)}
+   */
+  public static Object restore(String text, SpillRef ref) {
+    if (ref != null && text != null && ref.length == text.length() && SpillFile.getDefault().isCurrent(ref.generation)) {
+      return new CompactText(null, ref.offset, ref.generation, ref.compressedSize, ref.length, ref.size);
+    }
+    return pack(text);
+  }
+
+  /**
+   * Распаковывает текст
+   *
+   * @param packed результат {@link #pack(String)}
+   * @return исходный текст
+   */
+  public static String unpack(Object packed) {
+    return packed instanceof CompactText ? ((CompactText) packed).inflate() : (String) packed;
+  }
+
+  /**
+   * Длина исходного текста без распаковки
+   *
+   * @param packed результат {@link #pack(String)}
+   * @return количество символов
+   */
+  public static int length(Object packed) {
+    if (packed == null) {
+      return 0;
+    }
+    return packed instanceof CompactText ? ((CompactText) packed).length : ((String) packed).length();
+  }
+
+  /**
+   * Объем памяти, занимаемой упакованным текстом
+   *
+   * @param packed результат {@link #pack(String)}
+   * @return объем в байтах
+   */
+  public static long retainedSize(Object packed) {
+    if (packed == null) {
+      return 0;
+    }
+    if (packed instanceof CompactText) {
+      var data = ((CompactText) packed).data;
+      return 40 + (data == null ? 0 : data.length);
+    }
+    return 40 + 2L * ((String) packed).length();
+  }
+
+  private String inflate() {
+    byte[] compressed;
+    if (data != null) {
+      compressed = data;
+    } else {
+      try {
+        compressed = SpillFile.getDefault().read(offset, compressedSize);
+      } catch (IOException e) {
+        TestViewerPlugin.log().logError("Не удалось прочитать текст из файла подкачки", e);
+        return UNAVAILABLE;
+      }
+    }
+
+    var inflater = new Inflater();
+    try {
+      inflater.setInput(compressed);
+      var bytes = new byte[size];
+      var position = 0;
+      while (position < size && !inflater.finished()) {
+        var count = inflater.inflate(bytes, position, size - position);
+        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        position += count;
+      }
+      return new String(bytes, 0, position, StandardCharsets.UTF_8);
+    } catch (DataFormatException e) {
+      throw new IllegalStateException(e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static byte[] deflate(byte[] bytes) {
+    var deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(bytes);
+      deflater.finish();
+      var output = new ByteArrayOutputStream(bytes.length / 4);
+      var buffer = new byte[8192];
+      while (!deflater.finished()) {
+        output.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return output.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Расположение сжатого текста в файле подкачки
+   */
+  @Value
+  public static class SpillRef {
+    /**
+     * Поколение файла подкачки, см. {@link SpillFile}
+     */
+    long generation;
+    long offset;
+    int compressedSize;
+    int length;
+    int size;
+  }
+}
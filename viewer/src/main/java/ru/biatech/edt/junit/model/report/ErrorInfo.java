@@ -1,13 +1,60 @@
 package ru.biatech.edt.junit.model.report;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlText;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 @Data
 public class ErrorInfo {
   String message;
-  @JacksonXmlText
-  String trace;
+  /**
+   * Стек вызовов, упакованный {@link CompactText}.
+   * Сравнивается по тексту, а не по способу хранения; в строковое представление не входит, чтобы не читать файл подкачки
+   */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  Object trace;
   String type;
 
+  @EqualsAndHashCode.Include
+  @JacksonXmlText
+  public String getTrace() {
+    return CompactText.unpack(trace);
+  }
+
+  @JacksonXmlText
+  public void setTrace(String trace) {
+    this.trace = CompactText.pack(trace);
+  }
+
+  /**
+   * @return стек вызовов в упакованном виде, см. {@link CompactText}
+   */
+  @JsonIgnore
+  public Object getPackedTrace() {
+    return trace;
+  }
+
+  /**
+   * @param trace стек вызовов, упакованный {@link CompactText}
+   */
+  @JsonIgnore
+  public void setPackedTrace(Object trace) {
+    this.trace = trace;
+  }
+
+  /**
+   * @return объем памяти, занимаемой стеком вызовов, без его загрузки
+   */
+  @JsonIgnore
+  public long getTraceRetainedSize() {
+    return CompactText.retainedSize(trace);
+  }
 }
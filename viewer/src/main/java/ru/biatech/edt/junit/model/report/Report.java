@@ -12,5 +12,5 @@ public class Report<T extends TestSuite<?>> {
    */
   @JacksonXmlElementWrapper(useWrapping = true, localName = "properties")
   protected Property[] property;
-  protected T[] testsuite;
+  protected volatile T[] testsuite;
 }
@@ -3,6 +3,8 @@ package ru.biatech.edt.junit.model.report;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import ru.biatech.edt.junit.Serializer;
+import ru.biatech.edt.junit.TestViewerPlugin;
+import ru.biatech.edt.junit.diagnostics.Metrics;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -19,9 +21,30 @@ public class ReportLoader {
 
   @SneakyThrows
   public <T> void loadInto(Path path, T object) {
-    try (var stream = Files.newInputStream(path)) {
+    try (var ignored = Metrics.span("report.load.jackson", path.getFileName().toString());
+         var stream = Files.newInputStream(path)) {
       Serializer.getXmlMapper().readerForUpdating(object).readValue(stream);
     }
   }
 
-}
\ No newline at end of file
+  /**
+   * Загружает отчет потоковым загрузчиком, при ошибке разбора повторяет загрузку через Jackson.
+   *
+   * @param path   путь к файлу отчета
+   * @param report отчет, в который выполняется загрузка
+   * @param loader потоковый загрузчик
+   */
+  @SneakyThrows
+  public <S extends TestSuite<C>, C extends TestCase> void loadInto(Path path, Report<S> report, StreamingReportLoader<S, C> loader) {
+    var span = Metrics.span("report.load", path.getFileName() + ", " + path.toFile().length() + " bytes");
+    try (var stream = Files.newInputStream(path)) {
+      loader.loadInto(stream, report);
+      span.close();
+    } catch (Exception e) {
+      span.fail();
+      Metrics.count("report.load.fallback");
+      TestViewerPlugin.log().warning("Не удалось загрузить отчет {0} потоковым загрузчиком, используется Jackson: {1}", path, e.getMessage());
+      loadInto(path, report);
+    }
+  }
+}
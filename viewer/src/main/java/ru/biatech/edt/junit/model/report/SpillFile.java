@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.model.report;
+
+import ru.biatech.edt.junit.Preferences;
+import ru.biatech.edt.junit.TestViewerPlugin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Файл подкачки больших текстов отчетов.
+ * <p>
+ * Тексты дописываются в конец файла, в памяти остаются только их смещения (см. {@link CompactText}).
+ * Файл создается заново при первой записи после запуска и удаляется при остановке плагина,
+ * поэтому между сеансами работы тексты через него не передаются.
+ * Каждое открытие файла получает новый номер поколения: по нему ссылки на тексты, сохраненные в истории,
+ * повторно используются только в том же сеансе работы (см. {@link CompactText.SpillRef}).
+ */
+public final class SpillFile {
+
+  private static final String FILE_NAME = "texts.spill"; //$NON-NLS-1$
+  private static final SpillFile DEFAULT = new SpillFile();
+
+  private FileChannel channel;
+  private Path path;
+  private long generation;
+  private boolean disabled;
+
+  private SpillFile() {
+  }
+
+  public static SpillFile getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Дописывает данные в файл
+   *
+   * @param data данные
+   * @return смещение данных в файле или -1, если вынос текстов отключен
+   * @throws IOException при ошибке записи
+   */
+  synchronized long append(byte[] data) throws IOException {
+    if (!open()) {
+      return -1;
+    }
+    var offset = channel.size();
+    var buffer = ByteBuffer.wrap(data);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, offset + buffer.position());
+    }
+    return offset;
+  }
+
+  /**
+   * @return поколение открытого файла или 0, если файл не открыт
+   */
+  synchronized long getGeneration() {
+    return channel == null ? 0 : generation;
+  }
+
+  /**
+   * Проверяет, что данные указанного поколения доступны в файле
+   *
+   * @param generation поколение файла на момент записи данных
+   * @return признак, данные можно читать
+   */
+  synchronized boolean isCurrent(long generation) {
+    return channel != null && generation != 0 && this.generation == generation;
+  }
+
+  /**
+   * Читает данные из файла
+   *
+   * @param offset смещение
+   * @param length размер
+   * @return данные
+   * @throws IOException при ошибке чтения, в том числе если файл уже закрыт
+   */
+  synchronized byte[] read(long offset, int length) throws IOException {
+    if (channel == null) {
+      throw new IOException("Файл подкачки закрыт");
+    }
+    var buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, offset + buffer.position()) < 0) {
+        throw new IOException("Неожиданный конец файла подкачки: " + path);
+      }
+    }
+    return buffer.array();
+  }
+
+  /**
+   * Закрывает и удаляет файл. Тексты, вынесенные в файл, становятся недоступны
+   */
+  public synchronized void close() {
+    if (channel == null) {
+      return;
+    }
+    try {
+      channel.close();
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      TestViewerPlugin.log().logError("Не удалось удалить файл подкачки: " + path, e);
+    }
+    channel = null;
+    generation = 0;
+  }
+
+  private boolean open() throws IOException {
+    if (channel != null) {
+      return true;
+    }
+    if (disabled || TestViewerPlugin.getDefault() == null || !Preferences.getSpillReportText()) {
+      // Вне запущенного плагина (например, в тестах производительности) тексты остаются в памяти
+      return false;
+    }
+    var directory = TestViewerPlugin.getDefault().getStateLocation().toFile().toPath();
+    path = directory.resolve(FILE_NAME);
+    try {
+      channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+          StandardOpenOption.READ, StandardOpenOption.WRITE);
+      do {
+        generation = ThreadLocalRandom.current().nextLong();
+      } while (generation == 0);
+    } catch (IOException e) {
+      disabled = true;
+      throw e;
+    }
+    return true;
+  }
+}
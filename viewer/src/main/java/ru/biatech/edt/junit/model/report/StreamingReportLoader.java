@@ -0,0 +1,436 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.model.report;
+
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+import ru.biatech.edt.junit.model.IXMLTags;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Потоковый загрузчик отчетов в формате jUnit.
+ * <p>
+ * В отличие от {@link ReportLoader#load(java.nio.file.Path, Class)} не строит дерево документа целиком,
+ * а читает отчет по одному тестовому набору ({@code <testsuite>}) и сразу передает его потребителю.
+ * Повторяющиеся строки (имена классов, контексты, типы ошибок) переиспользуются в пределах одной загрузки.
+ *
+ * @param <S> тип тестового набора
+ * @param <C> тип теста
+ */
+public class StreamingReportLoader<S extends TestSuite<C>, C extends TestCase> {
+
+  private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+  private static final Property[] EMPTY_PROPERTIES = new Property[0];
+
+  private final Supplier<S> suiteFactory;
+  private final Supplier<C> testCaseFactory;
+  private final IntFunction<S[]> suiteArrayFactory;
+  private final IntFunction<C[]> testCaseArrayFactory;
+
+  private final Map<String, String> strings = new HashMap<>();
+  private final StdDateFormat dateFormat = new StdDateFormat();
+
+  public StreamingReportLoader(Supplier<S> suiteFactory, Supplier<C> testCaseFactory,
+                               IntFunction<S[]> suiteArrayFactory, IntFunction<C[]> testCaseArrayFactory) {
+    this.suiteFactory = suiteFactory;
+    this.testCaseFactory = testCaseFactory;
+    this.suiteArrayFactory = suiteArrayFactory;
+    this.testCaseArrayFactory = testCaseArrayFactory;
+  }
+
+  /**
+   * Загружает отчет в переданный объект.
+   * Содержимое объекта заменяется только после успешного чтения всего отчета.
+   *
+   * @param stream поток с содержимым отчета
+   * @param report отчет, в который выполняется загрузка
+   * @throws XMLStreamException при ошибке разбора отчета
+   */
+  public void loadInto(InputStream stream, Report<S> report) throws XMLStreamException {
+    var suites = new ArrayList<S>();
+    var properties = read(stream, suites::add);
+    report.setProperty(properties);
+    report.setTestsuite(suites.toArray(suiteArrayFactory.apply(0)));
+  }
+
+  /**
+   * Читает отчет, передавая потребителю каждый тестовый набор сразу после его разбора.
+   *
+   * @param stream   поток с содержимым отчета
+   * @param consumer потребитель тестовых наборов
+   * @return свойства отчета или {@code null}, если их нет
+   * @throws XMLStreamException при ошибке разбора отчета
+   */
+  public Property[] read(InputStream stream, Consumer<S> consumer) throws XMLStreamException {
+    var reader = INPUT_FACTORY.createXMLStreamReader(stream);
+    try {
+      if (nextElement(reader) != XMLStreamConstants.START_ELEMENT) {
+        return null;
+      }
+      if (is(reader, IXMLTags.NODE_TESTSUITE)) {
+        consumer.accept(readSuite(reader));
+        return null;
+      }
+
+      Property[] properties = null;
+      while (nextElement(reader) == XMLStreamConstants.START_ELEMENT) {
+        if (is(reader, IXMLTags.NODE_TESTSUITE)) {
+          consumer.accept(readSuite(reader));
+        } else if (is(reader, IXMLTags.NODE_PROPERTIES)) {
+          properties = readProperties(reader);
+        } else {
+          skipElement(reader);
+        }
+      }
+      return properties;
+    } finally {
+      reader.close();
+    }
+  }
+
+  private S readSuite(XMLStreamReader reader) throws XMLStreamException {
+    var suite = suiteFactory.get();
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      var value = reader.getAttributeValue(i);
+      switch (name(reader.getAttributeLocalName(i))) {
+        case IXMLTags.ATTR_ID:
+          suite.setId(parseInt(value));
+          break;
+        case IXMLTags.ATTR_PACKAGE:
+          suite.setPackageName(intern(value));
+          break;
+        case IXMLTags.ATTR_CLASSNAME:
+          suite.setClassName(intern(value));
+          break;
+        case IXMLTags.ATTR_NAME:
+          suite.setName(intern(value));
+          break;
+        case IXMLTags.ATTR_TIMESTAMP:
+          suite.setTimestamp(parseDate(value));
+          break;
+        case "hostname": //$NON-NLS-1$
+          suite.setHostname(intern(value));
+          break;
+        case IXMLTags.ATTR_TIME:
+          suite.setTime(parseDouble(value));
+          break;
+        case IXMLTags.ATTR_CONTEXT:
+          suite.setContext(intern(value));
+          break;
+        case IXMLTags.ATTR_TESTS:
+          suite.setTests(parseInt(value));
+          break;
+        case IXMLTags.ATTR_ERRORS:
+          suite.setErrors(parseInt(value));
+          break;
+        case IXMLTags.NODE_SKIPPED:
+          suite.setSkipped(parseInt(value));
+          break;
+        case IXMLTags.ATTR_FAILURES:
+          suite.setFailures(parseInt(value));
+          break;
+      }
+    }
+
+    var testCases = new ArrayList<C>();
+    List<ErrorInfo> errors = null;
+    while (nextElement(reader) == XMLStreamConstants.START_ELEMENT) {
+      if (is(reader, IXMLTags.NODE_TESTCASE)) {
+        testCases.add(readTestCase(reader));
+      } else if (is(reader, IXMLTags.NODE_PROPERTIES)) {
+        suite.setProperty(readProperties(reader));
+      } else if (is(reader, IXMLTags.NODE_ERROR)) {
+        errors = add(errors, readErrorInfo(reader, new ErrorInfo()));
+      } else {
+        skipElement(reader);
+      }
+    }
+    suite.setTestcase(testCases.toArray(testCaseArrayFactory.apply(0)));
+    if (errors != null) {
+      suite.setError(errors.toArray(new ErrorInfo[0]));
+    }
+    return suite;
+  }
+
+  private C readTestCase(XMLStreamReader reader) throws XMLStreamException {
+    var testCase = testCaseFactory.get();
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      var value = reader.getAttributeValue(i);
+      switch (name(reader.getAttributeLocalName(i))) {
+        case IXMLTags.ATTR_CLASSNAME:
+          testCase.setClassName(intern(value));
+          break;
+        case IXMLTags.ATTR_NAME:
+          testCase.setName(intern(value));
+          break;
+        case IXMLTags.ATTR_TIME:
+          testCase.setTime(parseDouble(value));
+          break;
+        case IXMLTags.ATTR_CONTEXT:
+          testCase.setContext(intern(value));
+          break;
+      }
+    }
+
+    List<ErrorInfo> skipped = null;
+    List<ErrorInfo> errors = null;
+    List<Failure> failures = null;
+    while (nextElement(reader) == XMLStreamConstants.START_ELEMENT) {
+      switch (name(reader.getLocalName())) {
+        case IXMLTags.NODE_SKIPPED:
+          skipped = add(skipped, readErrorInfo(reader, new ErrorInfo()));
+          break;
+        case IXMLTags.NODE_ERROR:
+          errors = add(errors, readErrorInfo(reader, new ErrorInfo()));
+          break;
+        case IXMLTags.NODE_FAILURE:
+          failures = add(failures, readErrorInfo(reader, new Failure()));
+          break;
+        case IXMLTags.NODE_SYSTEM_OUT:
+          testCase.setSystemOut(readText(reader));
+          break;
+        case IXMLTags.NODE_SYSTEM_ERR:
+          testCase.setSystemErr(readText(reader));
+          break;
+        case IXMLTags.NODE_PROPERTIES:
+          testCase.setProperty(readProperties(reader));
+          break;
+        default:
+          skipElement(reader);
+      }
+    }
+
+    if (skipped != null) {
+      testCase.setSkipped(skipped.toArray(new ErrorInfo[0]));
+    }
+    if (errors != null) {
+      testCase.setError(errors.toArray(new ErrorInfo[0]));
+    }
+    if (failures != null) {
+      testCase.setFailure(failures.toArray(new Failure[0]));
+    }
+    return testCase;
+  }
+
+  private <T extends ErrorInfo> T readErrorInfo(XMLStreamReader reader, T info) throws XMLStreamException {
+    var failure = info instanceof Failure ? (Failure) info : null;
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      var value = reader.getAttributeValue(i);
+      switch (name(reader.getAttributeLocalName(i))) {
+        case IXMLTags.ATTR_MESSAGE:
+          info.setMessage(value);
+          break;
+        case IXMLTags.ATTR_TYPE:
+          info.setType(intern(value));
+          break;
+        case IXMLTags.NODE_EXPECTED:
+          if (failure != null) {
+            failure.setExpected(value);
+          }
+          break;
+        case IXMLTags.NODE_ACTUAL:
+          if (failure != null) {
+            failure.setActual(value);
+          }
+          break;
+      }
+    }
+
+    StringBuilder trace = null;
+    for (int event = reader.next(); event != XMLStreamConstants.END_ELEMENT; event = reader.next()) {
+      switch (event) {
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+        case XMLStreamConstants.SPACE:
+          if (trace == null) {
+            trace = new StringBuilder(reader.getTextLength());
+          }
+          trace.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+          break;
+        case XMLStreamConstants.START_ELEMENT:
+          if (failure != null && is(reader, IXMLTags.NODE_EXPECTED)) {
+            failure.setExpected(readText(reader));
+          } else if (failure != null && is(reader, IXMLTags.NODE_ACTUAL)) {
+            failure.setActual(readText(reader));
+          } else {
+            skipElement(reader);
+          }
+          break;
+        case XMLStreamConstants.END_DOCUMENT:
+          throw new XMLStreamException("Unexpected end of document", reader.getLocation()); //$NON-NLS-1$
+      }
+    }
+    info.setTrace(nullIfBlank(trace));
+    return info;
+  }
+
+  private Property[] readProperties(XMLStreamReader reader) throws XMLStreamException {
+    var properties = new ArrayList<Property>();
+    while (nextElement(reader) == XMLStreamConstants.START_ELEMENT) {
+      if (is(reader, IXMLTags.NODE_PROPERTY)) {
+        var property = new Property();
+        property.setName(intern(reader.getAttributeValue(null, IXMLTags.ATTR_NAME)));
+        property.setValue(reader.getAttributeValue(null, "value")); //$NON-NLS-1$
+        properties.add(property);
+      }
+      skipElement(reader);
+    }
+    return properties.isEmpty() ? EMPTY_PROPERTIES : properties.toArray(new Property[0]);
+  }
+
+  /**
+   * Читает текстовое содержимое текущего элемента, вложенные элементы пропускаются.
+   */
+  private String readText(XMLStreamReader reader) throws XMLStreamException {
+    StringBuilder text = null;
+    for (int event = reader.next(); event != XMLStreamConstants.END_ELEMENT; event = reader.next()) {
+      switch (event) {
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+        case XMLStreamConstants.SPACE:
+          if (text == null) {
+            text = new StringBuilder(reader.getTextLength());
+          }
+          text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+          break;
+        case XMLStreamConstants.START_ELEMENT:
+          skipElement(reader);
+          break;
+        case XMLStreamConstants.END_DOCUMENT:
+          throw new XMLStreamException("Unexpected end of document", reader.getLocation()); //$NON-NLS-1$
+      }
+    }
+    return nullIfBlank(text);
+  }
+
+  /**
+   * Переходит к следующему открывающему или закрывающему тегу, пропуская текст и комментарии.
+   *
+   * @return {@link XMLStreamConstants#START_ELEMENT}, {@link XMLStreamConstants#END_ELEMENT}
+   * или {@link XMLStreamConstants#END_DOCUMENT}
+   */
+  private static int nextElement(XMLStreamReader reader) throws XMLStreamException {
+    while (reader.hasNext()) {
+      var event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT || event == XMLStreamConstants.END_ELEMENT) {
+        return event;
+      }
+    }
+    return XMLStreamConstants.END_DOCUMENT;
+  }
+
+  /**
+   * Пропускает текущий элемент вместе с содержимым, курсор остается на его закрывающем теге.
+   */
+  private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+    var depth = 1;
+    while (depth > 0) {
+      switch (nextElement(reader)) {
+        case XMLStreamConstants.START_ELEMENT:
+          depth++;
+          break;
+        case XMLStreamConstants.END_ELEMENT:
+          depth--;
+          break;
+        default:
+          throw new XMLStreamException("Unexpected end of document", reader.getLocation()); //$NON-NLS-1$
+      }
+    }
+  }
+
+  private static boolean is(XMLStreamReader reader, String tag) {
+    return tag.equalsIgnoreCase(reader.getLocalName());
+  }
+
+  private static String name(String localName) {
+    return localName.toLowerCase(Locale.ROOT);
+  }
+
+  private static <T> List<T> add(List<T> list, T item) {
+    if (list == null) {
+      list = new ArrayList<>(1);
+    }
+    list.add(item);
+    return list;
+  }
+
+  private static String nullIfBlank(StringBuilder text) {
+    if (text == null) {
+      return null;
+    }
+    for (int i = 0; i < text.length(); i++) {
+      if (!Character.isWhitespace(text.charAt(i))) {
+        return text.toString();
+      }
+    }
+    return null;
+  }
+
+  private String intern(String value) {
+    if (value == null) {
+      return null;
+    }
+    var existing = strings.putIfAbsent(value, value);
+    return existing == null ? value : existing;
+  }
+
+  private Date parseDate(String value) {
+    try {
+      return value.isBlank() ? null : dateFormat.parse(value);
+    } catch (ParseException e) {
+      return null;
+    }
+  }
+
+  private static int parseInt(String value) {
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private static double parseDouble(String value) {
+    try {
+      return Double.parseDouble(value.trim());
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private static XMLInputFactory createInputFactory() {
+    var factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+}
@@ -1,8 +1,13 @@
 package ru.biatech.edt.junit.model.report;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 @EqualsAndHashCode(callSuper = true)
 @Data
@@ -34,14 +39,84 @@ public class TestCase extends BaseTestItem {
    */
   protected Failure[] failure;
   /**
-   * Data that was written to standard out while the test was executed
+   * Data that was written to standard out while the test was executed.
+   * Хранится упакованным {@link CompactText}, сравнивается по тексту
    */
-  @JacksonXmlProperty(localName = "system-out")
-  protected String systemOut;
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  protected Object systemOut;
   /**
-   * Data that was written to standard error while the test was executed
+   * Data that was written to standard error while the test was executed.
+   * Хранится упакованным {@link CompactText}, сравнивается по тексту
    */
-  @JacksonXmlProperty(localName = "system-err")
-  protected String systemErr;
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  protected Object systemErr;
   protected String context;
+
+  @EqualsAndHashCode.Include
+  @JacksonXmlProperty(localName = "system-out")
+  public String getSystemOut() {
+    return CompactText.unpack(systemOut);
+  }
+
+  @JacksonXmlProperty(localName = "system-out")
+  public void setSystemOut(String systemOut) {
+    this.systemOut = CompactText.pack(systemOut);
+  }
+
+  @EqualsAndHashCode.Include
+  @JacksonXmlProperty(localName = "system-err")
+  public String getSystemErr() {
+    return CompactText.unpack(systemErr);
+  }
+
+  @JacksonXmlProperty(localName = "system-err")
+  public void setSystemErr(String systemErr) {
+    this.systemErr = CompactText.pack(systemErr);
+  }
+
+  /**
+   * @return вывод теста в упакованном виде, см. {@link CompactText}
+   */
+  @JsonIgnore
+  public Object getPackedSystemOut() {
+    return systemOut;
+  }
+
+  /**
+   * @param systemOut вывод теста, упакованный {@link CompactText}
+   */
+  @JsonIgnore
+  public void setPackedSystemOut(Object systemOut) {
+    this.systemOut = systemOut;
+  }
+
+  /**
+   * @return вывод ошибок теста в упакованном виде, см. {@link CompactText}
+   */
+  @JsonIgnore
+  public Object getPackedSystemErr() {
+    return systemErr;
+  }
+
+  /**
+   * @param systemErr вывод ошибок теста, упакованный {@link CompactText}
+   */
+  @JsonIgnore
+  public void setPackedSystemErr(Object systemErr) {
+    this.systemErr = systemErr;
+  }
+
+  /**
+   * @return объем памяти, занимаемой выводом теста, без его загрузки
+   */
+  @JsonIgnore
+  public long getOutputRetainedSize() {
+    return CompactText.retainedSize(systemOut) + CompactText.retainedSize(systemErr);
+  }
 }
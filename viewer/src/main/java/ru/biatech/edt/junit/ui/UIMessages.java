@@ -36,6 +36,8 @@ public final class UIMessages extends NLS {
   public static String LaunchConfigurationTab_failedRestoreSettings;
   public static String LaunchConfigurationTab_ProjectPath;
   public static String LaunchConfigurationTab_SettingsTab;
+  public static String LaunchConfigurationTab_StopAfterFailures;
+  public static String LaunchConfigurationTab_StopAfterFailures_tooltip;
   public static String CompareResultDialog_actualLabel;
   public static String CompareResultDialog_expectedLabel;
   public static String CompareResultDialog_labelOK;
@@ -79,6 +81,21 @@ public final class UIMessages extends NLS {
   public static String TestRunnerViewPart_ImportTestRunSessionAction_error_title;
   public static String TestRunnerViewPart_ImportTestRunSessionAction_name;
   public static String TestRunnerViewPart_ImportTestRunSessionAction_title;
+  public static String TestRunnerViewPart_ExportMetricsAction_name;
+  public static String TestRunnerViewPart_ExportMetricsAction_title;
+  public static String TestRunnerViewPart_ExportMetricsAction_error;
+  public static String TestRunnerViewPart_ShowTimingReportAction_name;
+  public static String TimingReportDialog_title;
+  public static String TimingReportDialog_slowest;
+  public static String TimingReportDialog_regressed;
+  public static String TimingReportDialog_column_test;
+  public static String TimingReportDialog_column_time;
+  public static String TimingReportDialog_column_baseline;
+  public static String TimingReportDialog_column_change;
+  public static String TimingReportDialog_threshold;
+  public static String TimingReportDialog_baseline_runs;
+  public static String TimingReportDialog_baseline_info;
+  public static String TimingReportDialog_loading;
   public static String TestRunnerViewPart_jobName;
   public static String TestRunnerViewPart_label_failure;
   public static String TestRunnerViewPart_Launching;
@@ -96,6 +113,7 @@ public final class UIMessages extends NLS {
   public static String TestRunnerViewPart_titleToolTip;
   public static String TestRunnerViewPart_wrapperJobName;
   public static String TestRunnerViewPart_history;
+  public static String TestRunnerViewPart_history_footprint;
   public static String TestRunnerViewPart_test_run_history;
   public static String TestRunnerViewPart_test_runs;
   public static String TestRunnerViewPart_select_test_run;
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.ui.dialogs;
+
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.jface.dialogs.TrayDialog;
+import org.eclipse.jface.layout.GridDataFactory;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TableViewerColumn;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Spinner;
+import org.eclipse.swt.widgets.TabFolder;
+import org.eclipse.swt.widgets.TabItem;
+import ru.biatech.edt.junit.Preferences;
+import ru.biatech.edt.junit.TestViewerPlugin;
+import ru.biatech.edt.junit.model.Session;
+import ru.biatech.edt.junit.model.TestTimings;
+import ru.biatech.edt.junit.model.TimingReport;
+import ru.biatech.edt.junit.ui.UIMessages;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Отчет о длительности тестов сессии: самые медленные и замедлившиеся относительно предыдущих запусков тесты
+ */
+public class TimingReportDialog extends TrayDialog {
+  private static final int LIMIT = 100;
+
+  private final Session session;
+  /**
+   * Предыдущие запуски из журнала длительности, загружаются в фоновом задании
+   */
+  private List<TestTimings.Run> history = List.of();
+  /**
+   * Количество запусков, для которого загружена или загружается история
+   */
+  private int loadedRuns;
+  private Spinner thresholdSpinner;
+  private Spinner runsSpinner;
+  private Label infoLabel;
+  private TableViewer slowestViewer;
+  private TableViewer regressedViewer;
+  private TabItem regressedTab;
+
+  public TimingReportDialog(Shell shell, Session session) {
+    super(shell);
+    setShellStyle((getShellStyle() & ~SWT.APPLICATION_MODAL) | SWT.RESIZE | SWT.MAX);
+    this.session = session;
+  }
+
+  @Override
+  protected void configureShell(Shell newShell) {
+    super.configureShell(newShell);
+    newShell.setText(UIMessages.TimingReportDialog_title);
+  }
+
+  @Override
+  protected void createButtonsForButtonBar(Composite parent) {
+    createButton(parent, IDialogConstants.OK_ID, IDialogConstants.CLOSE_LABEL, true);
+  }
+
+  @Override
+  protected Control createDialogArea(Composite parent) {
+    var composite = (Composite) super.createDialogArea(parent);
+
+    var settings = new Composite(composite, SWT.NONE);
+    settings.setLayout(new GridLayout(4, false));
+    GridDataFactory.fillDefaults().grab(true, false).applyTo(settings);
+
+    new Label(settings, SWT.NONE).setText(UIMessages.TimingReportDialog_threshold);
+    thresholdSpinner = new Spinner(settings, SWT.BORDER);
+    thresholdSpinner.setValues(Preferences.getTimingRegressionThreshold(), 1, 1000, 0, 10, 50);
+
+    new Label(settings, SWT.NONE).setText(UIMessages.TimingReportDialog_baseline_runs);
+    runsSpinner = new Spinner(settings, SWT.BORDER);
+    runsSpinner.setValues(Preferences.getTimingBaselineRuns(), 1, Preferences.getTimingLogRuns(), 0, 1, 5);
+
+    infoLabel = new Label(composite, SWT.NONE);
+    GridDataFactory.fillDefaults().grab(true, false).applyTo(infoLabel);
+
+    var folder = new TabFolder(composite, SWT.TOP);
+    GridDataFactory.fillDefaults().grab(true, true).hint(700, 400).applyTo(folder);
+
+    var slowestTab = new TabItem(folder, SWT.NONE);
+    slowestTab.setText(UIMessages.TimingReportDialog_slowest);
+    slowestViewer = createTable(folder);
+    slowestTab.setControl(slowestViewer.getControl());
+
+    regressedTab = new TabItem(folder, SWT.NONE);
+    regressedViewer = createTable(folder);
+    regressedTab.setControl(regressedViewer.getControl());
+
+    thresholdSpinner.addModifyListener(e -> {
+      Preferences.putTimingRegressionThreshold(thresholdSpinner.getSelection());
+      refresh();
+    });
+    runsSpinner.addModifyListener(e -> {
+      Preferences.putTimingBaselineRuns(runsSpinner.getSelection());
+      refresh();
+    });
+
+    refresh();
+    return composite;
+  }
+
+  private void refresh() {
+    var runs = runsSpinner.getSelection();
+    if (runs > loadedRuns) {
+      loadHistory(runs);
+      return;
+    }
+    var report = TimingReport.build(session, history, runs, thresholdSpinner.getSelection(), LIMIT);
+    slowestViewer.setInput(report.getSlowest());
+    regressedViewer.setInput(report.getRegressed());
+    regressedTab.setText(UIMessages.TimingReportDialog_regressed + " (" + report.getRegressed().size() + ")"); //$NON-NLS-1$ //$NON-NLS-2$
+    infoLabel.setText(MessageFormat.format(UIMessages.TimingReportDialog_baseline_info, report.getBaselineRuns()));
+  }
+
+  /**
+   * Загружает предыдущие запуски в фоновом задании, чтобы не читать журнал в потоке интерфейса
+   *
+   * @param runs количество запусков
+   */
+  private void loadHistory(int runs) {
+    loadedRuns = runs;
+    infoLabel.setText(UIMessages.TimingReportDialog_loading);
+    var display = getShell().getDisplay();
+    Job.create("Загрузка журнала длительности тестов", monitor -> { //$NON-NLS-1$
+      var loaded = TestViewerPlugin.core().getTestTimings().readHistory(session, runs);
+      display.asyncExec(() -> {
+        if (infoLabel.isDisposed() || loadedRuns != runs) {
+          return;
+        }
+        history = loaded;
+        refresh();
+      });
+    }).schedule();
+  }
+
+  private static TableViewer createTable(Composite parent) {
+    var viewer = new TableViewer(parent, SWT.FULL_SELECTION | SWT.V_SCROLL | SWT.H_SCROLL | SWT.BORDER);
+    viewer.getTable().setHeaderVisible(true);
+    viewer.getTable().setLinesVisible(true);
+    viewer.setContentProvider(ArrayContentProvider.getInstance());
+
+    createColumn(viewer, UIMessages.TimingReportDialog_column_test, 380, SWT.LEFT, TimingReport.Entry::getName);
+    createColumn(viewer, UIMessages.TimingReportDialog_column_time, 90, SWT.RIGHT, entry -> formatTime(entry.getTime()));
+    createColumn(viewer, UIMessages.TimingReportDialog_column_baseline, 90, SWT.RIGHT, entry -> formatTime(entry.getBaseline()));
+    createColumn(viewer, UIMessages.TimingReportDialog_column_change, 90, SWT.RIGHT, entry -> formatChange(entry.getChange()));
+    return viewer;
+  }
+
+  private static void createColumn(TableViewer viewer, String title, int width, int style, Function<TimingReport.Entry, String> text) {
+    var column = new TableViewerColumn(viewer, style);
+    column.getColumn().setText(title);
+    column.getColumn().setWidth(width);
+    column.setLabelProvider(new ColumnLabelProvider() {
+      @Override
+      public String getText(Object element) {
+        return text.apply((TimingReport.Entry) element);
+      }
+    });
+  }
+
+  private static String formatTime(double time) {
+    return time < 0 ? "" : String.format("%.3f", time); //$NON-NLS-1$ //$NON-NLS-2$
+  }
+
+  private static String formatChange(double change) {
+    return Double.isNaN(change) ? "" : String.format("%+.0f", change); //$NON-NLS-1$ //$NON-NLS-2$
+  }
+}
@@ -16,12 +16,13 @@
 
 package ru.biatech.edt.junit.ui.editor.ruler;
 
-import com._1c.g5.v8.dt.bsl.model.Method;
 import com._1c.g5.v8.dt.bsl.model.Module;
 import com._1c.g5.v8.dt.bsl.validation.CustomValidationMessageAcceptor;
 import com._1c.g5.v8.dt.bsl.validation.IExternalBslValidator;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.ui.texteditor.MarkerUtilities;
@@ -35,8 +36,8 @@ import ru.biatech.edt.junit.ui.UIMessages;
 import ru.biatech.edt.junit.v8utils.MdUtils;
 
 import java.text.MessageFormat;
-import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class TestMethodMarker implements IExternalBslValidator {
@@ -56,26 +57,80 @@ public class TestMethodMarker implements IExternalBslValidator {
 
     Module module = (Module) object;
     IResource resource = MdUtils.getResource(object);
+    if (resource == null) {
+      return;
+    }
+
+    Map<String, Integer> expected = new LinkedHashMap<>();
+    for (var method : TestsManager.getTestMethods(module)) {
+      var node = NodeModelUtils.findActualNodeFor(method);
+      if (node != null) {
+        expected.putIfAbsent(method.getName(), node.getStartLine());
+      }
+    }
+
+    IMarker[] markers;
     try {
-      resource.deleteMarkers(RulerAttributes.MARKER_ID, false, 0);
+      markers = resource.findMarkers(RulerAttributes.MARKER_ID, false, IResource.DEPTH_ZERO);
     } catch (CoreException e) {
       TestViewerPlugin.log().logError(UIMessages.TestMethodMarker_MarkersCleanError, e);
+      return;
+    }
+
+    if (isActual(markers, expected)) {
+      return;
+    }
+
+    try {
+      // Все изменения маркеров - одна операция рабочей области, одна дельта ресурсов
+      ResourcesPlugin.getWorkspace().run(m -> updateMarkers(resource, markers, expected), null, IWorkspace.AVOID_UPDATE, null);
+    } catch (CoreException e) {
+      TestViewerPlugin.log().logError(UIMessages.TestMethodMarker_MarkerCreationError, e);
+    }
+  }
+
+  /**
+   * Проверяет, что существующие маркеры в точности соответствуют тестам модуля
+   */
+  private static boolean isActual(IMarker[] markers, Map<String, Integer> expected) {
+    if (markers.length != expected.size()) {
+      return false;
+    }
+    for (var marker : markers) {
+      var line = expected.get(marker.getAttribute(RulerAttributes.ATTRIBUTE_METHOD, null));
+      if (line == null || line != MarkerUtilities.getLineNumber(marker)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void updateMarkers(IResource resource, IMarker[] markers, Map<String, Integer> expected) throws CoreException {
+    var missing = new HashMap<>(expected);
+    for (var marker : markers) {
+      var method = marker.getAttribute(RulerAttributes.ATTRIBUTE_METHOD, null);
+      var line = method == null ? null : missing.remove(method);
+      if (line == null) {
+        marker.delete();
+      } else if (line != MarkerUtilities.getLineNumber(marker)) {
+        marker.setAttribute(IMarker.LINE_NUMBER, line);
+      }
+    }
+    for (var entry : missing.entrySet()) {
+      createMarker(resource, entry.getKey(), entry.getValue());
     }
-    Collection<Method> methods = TestsManager.getTestMethods(module);
-    methods.forEach(method -> createMarket(resource, method));
   }
 
-  private void createMarket(IResource resource, Method method) {
-    var node = NodeModelUtils.findActualNodeFor(method);
+  private static void createMarker(IResource resource, String methodName, int line) {
     Map<String, Object> attributes = new HashMap<>();
-    MarkerUtilities.setLineNumber(attributes, node.getStartLine());
+    MarkerUtilities.setLineNumber(attributes, line);
     attributes.put(IMarker.SEVERITY, 1);
-    attributes.put(RulerAttributes.ATTRIBUTE_METHOD, method.getName());
-    String message = MessageFormat.format(UIMessages.TestMethodMarker_LaunchTest, method.getName());
+    attributes.put(RulerAttributes.ATTRIBUTE_METHOD, methodName);
+    String message = MessageFormat.format(UIMessages.TestMethodMarker_LaunchTest, methodName);
     MarkerUtilities.setMessage(attributes, message);
 
     try {
-      MarkerUtilities.createMarker(resource, attributes, RulerAttributes.MARKER_ID);
+      resource.createMarker(RulerAttributes.MARKER_ID).setAttributes(attributes);
     } catch (CoreException e) {
       TestViewerPlugin.log().logError(UIMessages.TestMethodMarker_MarkerCreationError, e);
     }
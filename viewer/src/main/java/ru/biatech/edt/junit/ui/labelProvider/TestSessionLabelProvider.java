@@ -167,7 +167,7 @@ public class TestSessionLabelProvider extends LabelProvider implements IStyledLa
   @Override
   public Image getImage(Object element) {
     if (element instanceof TestCaseElement) {
-      switch (((TestCaseElement) element).getResultStatus(true)) {
+      switch (((TestCaseElement) element).getResult()) {
         case SKIPPED:
           return imageProvider.getTestSkippedIcon();
         case ERROR:
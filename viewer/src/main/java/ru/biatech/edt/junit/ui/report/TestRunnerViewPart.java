@@ -29,6 +29,7 @@ package ru.biatech.edt.junit.ui.report;
 
 import com._1c.g5.v8.dt.core.platform.IV8Project;
 import lombok.Getter;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.action.IStatusLineManager;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.swt.SWT;
@@ -63,10 +64,12 @@ import org.eclipse.ui.part.ViewPart;
 import org.eclipse.ui.progress.IWorkbenchSiteProgressService;
 import ru.biatech.edt.junit.BasicElementLabels;
 import ru.biatech.edt.junit.TestViewerPlugin;
+import ru.biatech.edt.junit.diagnostics.Metrics;
 import ru.biatech.edt.junit.kinds.ITestKind;
 import ru.biatech.edt.junit.model.ISessionListener;
 import ru.biatech.edt.junit.model.ITestCaseElement;
 import ru.biatech.edt.junit.model.ITestElement;
+import ru.biatech.edt.junit.model.ITestSessionListener;
 import ru.biatech.edt.junit.model.Session;
 import ru.biatech.edt.junit.ui.UIMessages;
 import ru.biatech.edt.junit.ui.UIPreferencesConstants;
@@ -77,6 +80,8 @@ import ru.biatech.edt.junit.ui.stacktrace.actions.CopyTraceAction;
 import ru.biatech.edt.junit.ui.viewsupport.ImageProvider;
 
 import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * A ViewPart that shows the results of a test run.
@@ -112,6 +117,14 @@ public class TestRunnerViewPart extends ViewPart implements SettingsEventListene
    */
   private int fCurrentOrientation;
   private TestViewer fTestViewer;
+  /**
+   * Планировщик обновления представления, объединяет изменения выполняющейся сессии
+   */
+  private UpdateScheduler updateScheduler;
+  /**
+   * Последние отображенные значения счетчиков и прогресса
+   */
+  private int[] fShownCounters;
   /**
    * Is the UI disposed?
    */
@@ -127,6 +140,7 @@ public class TestRunnerViewPart extends ViewPart implements SettingsEventListene
   @Getter
   private RunnerViewHistory viewHistoryManager;
   private SessionListener fTestRunSessionListener;
+  private final TestSessionListener fTestSessionListener = new TestSessionListener();
   @Getter
   final ReportSettings settings;
   private SashForm fSashForm;
@@ -224,6 +238,35 @@ public class TestRunnerViewPart extends ViewPart implements SettingsEventListene
     return fParent.getShell();
   }
 
+  /**
+   * Активирует сессию, ранее активная сессия выгружается в фоновом задании.
+   * Результаты выгруженной сессии сначала загружаются из файла истории в фоновом задании,
+   * чтобы не читать файл в потоке интерфейса.
+   *
+   * @param session сессия для отображения
+   */
+  public void showSession(Session session) {
+    if (session != null && session.isSwapped()) {
+      Job.create("Загрузка сессии из истории", monitor -> { //$NON-NLS-1$
+        session.getTestsuite();
+        getDisplay().asyncExec(() -> {
+          if (!fIsDisposed) {
+            activateSession(session);
+          }
+        });
+      }).schedule();
+    } else {
+      activateSession(session);
+    }
+  }
+
+  private void activateSession(Session session) {
+    var deactivatedSession = setActiveSession(session);
+    if (deactivatedSession != null) {
+      TestViewerPlugin.core().getSessionsManager().scheduleSwapOut(List.of(deactivatedSession));
+    }
+  }
+
   /**
    * @param session new active test run session
    * @return deactivated session, or <code>null</code> iff no session got deactivated
@@ -251,13 +294,23 @@ action enablement
     }
 
     Session deactivatedSession = this.session;
+    if (deactivatedSession != null) {
+      deactivatedSession.removeTestSessionListener(fTestSessionListener);
+      deactivatedSession.removeViewer();
+    }
 
     this.session = session;
+    if (session != null) {
+      session.addViewer();
+    }
     fTestViewer.registerActiveSession(session);
+    if (session != null && session.isRunning()) {
+      session.addTestSessionListener(fTestSessionListener);
+    }
 
     toolBar.onChangedSession();
     if (fSashForm.isDisposed()) {
-      postSyncProcessChanges();
+      postProcessChanges();
       return deactivatedSession;
     }
 
@@ -268,7 +321,7 @@ action enablement
       failureViewer.clear();
 
       registerInfoMessage(" "); //$NON-NLS-1$
-      postSyncProcessChanges();
+      postProcessChanges();
 
     } else {
       if (!this.session.isStarting() && !settings.isShowOnErrorOnly()) {
@@ -281,7 +334,7 @@ action enablement
       failureViewer.clear();
       registerInfoMessage(BasicElementLabels.getElementName(this.session.getTestRunPresent()));
 
-      postSyncProcessChanges();
+      postProcessChanges();
 
       fTestViewer.expandFirstLevel();
       settings.setSortingCriterion(settings.getSortingCriterion());
@@ -304,7 +357,12 @@ action enablement
     if (fSashForm.isDisposed()) {
       return;
     }
+    try (var ignored = Metrics.span("ui.refresh")) {
+      doProcessChangesInUI();
+    }
+  }
 
+  private void doProcessChangesInUI() {
     doShowInfoMessage();
     refreshCounters();
 
@@ -373,17 +431,19 @@ action enablement
     }
   }
 
-  private void postSyncRunnable(Runnable r) {
-    if (!isDisposed()) {
-      getDisplay().syncExec(r);
+  private void postRunnable(Runnable r) {
+    if (isDisposed()) {
+      return;
+    }
+    var display = getDisplay();
+    if (display.getThread() == Thread.currentThread()) {
+      r.run();
+    } else {
+      display.asyncExec(r);
     }
   }
 
   private void refreshCounters() {
-    // TODO: Inefficient. Either
-    // - keep a boolean fHasTestRun and update only on changes, or
-    // - improve components to only redraw on changes (once!).
-
     int startedCount;
     int ignoredCount;
     int totalCount;
@@ -413,18 +473,27 @@ action enablement
       stopped = false;
     }
 
-    fCounterPanel.setTotal(totalCount);
-    fCounterPanel.setRunValue(startedCount, ignoredCount, assumptionFailureCount);
-    fCounterPanel.setErrorValue(errorCount);
-    fCounterPanel.setFailureValue(failureCount);
-
     int ticksDone;
-    if (startedCount == 0) {
+    if (session != null && session.isRunning()) {
+      ticksDone = Math.min(startedCount + ignoredCount, totalCount);
+    } else if (startedCount == 0) {
       ticksDone = 0;
     } else {
       ticksDone = totalCount;
     }
 
+    // Перерисовываем панель и прогресс только при изменении значений
+    var counters = new int[]{startedCount, ignoredCount, totalCount, errorCount, failureCount, assumptionFailureCount, ticksDone, stopped ? 1 : 0};
+    if (Arrays.equals(counters, fShownCounters)) {
+      return;
+    }
+    fShownCounters = counters;
+
+    fCounterPanel.setTotal(totalCount);
+    fCounterPanel.setRunValue(startedCount, ignoredCount, assumptionFailureCount);
+    fCounterPanel.setErrorValue(errorCount);
+    fCounterPanel.setFailureValue(failureCount);
+
     fProgressBar.reset(hasErrorsOrFailures, stopped, ticksDone, totalCount);
   }
 
@@ -499,6 +568,7 @@ action enablement
   @Override
   public void createPartControl(Composite parent) {
     fParent = parent;
+    updateScheduler = new UpdateScheduler(parent.getDisplay(), this::processChangesInUI, this::isDisposed);
     addResizeListener(parent);
 
     GridLayout gridLayout = new GridLayout();
@@ -665,7 +735,7 @@ action enablement
   }
 
   private void showFailure(final ITestElement test) {
-    postSyncRunnable(() -> {
+    postRunnable(() -> {
       if (!isDisposed()) failureViewer.viewFailure(test);
     });
   }
@@ -678,8 +748,27 @@ action enablement
     return getViewSite().getShell().getDisplay();
   }
 
-  private void postSyncProcessChanges() {
-    postSyncRunnable(this::processChangesInUI);
+  /**
+   * Применяет накопленные изменения: сразу, если вызван из UI потока, иначе при ближайшем обновлении
+   */
+  private void postProcessChanges() {
+    if (isDisposed()) {
+      return;
+    }
+    if (getDisplay().getThread() == Thread.currentThread()) {
+      updateScheduler.flush();
+    } else {
+      updateScheduler.schedule();
+    }
+  }
+
+  /**
+   * Запрашивает отложенное обновление, изменения объединяются и применяются не чаще {@link UpdateScheduler#INTERVAL} мс
+   */
+  private void postAsyncProcessChanges() {
+    if (!isDisposed()) {
+      updateScheduler.schedule();
+    }
   }
 
   private void setOrientation(int orientation) {
@@ -746,6 +835,58 @@ action enablement
     SORT_BY_EXECUTION_TIME
   }
 
+  /**
+   * Отображает результаты выполняющейся сессии по мере их поступления
+   */
+  private class TestSessionListener implements ITestSessionListener {
+    @Override
+    public void sessionStarted() {
+      fTestViewer.registerViewersRefresh();
+      postAsyncProcessChanges();
+    }
+
+    @Override
+    public void sessionEnded() {
+      fTestViewer.registerViewersRefresh();
+      if (isDisposed()) {
+        return;
+      }
+      getDisplay().asyncExec(() -> {
+        if (isDisposed()) {
+          return;
+        }
+        updateScheduler.flush();
+        if (session != null && !session.isRunning()) {
+          session.removeTestSessionListener(this);
+          if (hasErrorsOrFailures()) {
+            selectFirstFailure();
+          }
+        }
+      });
+    }
+
+    @Override
+    public void testAdded(ITestElement testElement) {
+      fTestViewer.registerTestAdded(testElement);
+      postAsyncProcessChanges();
+    }
+
+    @Override
+    public void testStarted(ITestCaseElement testCaseElement) {
+      fTestViewer.registerAutoScrollTarget(testCaseElement);
+      postAsyncProcessChanges();
+    }
+
+    @Override
+    public void testEnded(ITestCaseElement testCaseElement) {
+      if (testCaseElement.getStatus().isErrorOrFailure()) {
+        fTestViewer.registerFailedForAutoScroll(testCaseElement);
+      }
+      fTestViewer.registerViewerUpdate(testCaseElement);
+      postAsyncProcessChanges();
+    }
+  }
+
   private class SessionListener implements ISessionListener {
     @Override
     public void sessionAdded(final Session session) {
@@ -762,10 +903,7 @@ action enablement
             registerInfoMessage(msg);
           }
 
-          Session deactivatedSession = setActiveSession(session);
-          if (deactivatedSession != null) {
-            deactivatedSession.swapOut();
-          }
+          showSession(session);
         }
       });
     }
@@ -775,15 +913,7 @@ action enablement
       getDisplay().asyncExec(() -> {
         if (session.equals(TestRunnerViewPart.this.session)) {
           var sessions = TestViewerPlugin.core().getSessionsManager().getSessions();
-          Session deactivatedSession;
-          if (!sessions.isEmpty()) {
-            deactivatedSession = setActiveSession(sessions.get(0));
-          } else {
-            deactivatedSession = setActiveSession(null);
-          }
-          if (deactivatedSession != null) {
-            deactivatedSession.swapOut();
-          }
+          showSession(sessions.isEmpty() ? null : sessions.get(0));
         }
       });
     }
@@ -45,7 +45,6 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Menu;
-import org.eclipse.swt.widgets.TableItem;
 import org.eclipse.ui.IWorkbenchActionConstants;
 import org.eclipse.ui.part.PageBook;
 import ru.biatech.edt.junit.model.ITestCaseElement;
@@ -93,6 +92,7 @@ public class TestViewer {
   private TestSessionTreeContentProvider fTreeContentProvider;
   private TestSessionLabelProvider fTreeLabelProvider;
   private TableViewer fTableViewer;
+  private TestSessionTableContentProvider fTableContentProvider;
   private TestSessionLabelProvider fTableLabelProvider;
   private SelectionProviderMediator fSelectionProvider;
 
@@ -105,6 +105,7 @@ public class TestViewer {
   private boolean fTreeNeedsRefresh;
   private boolean fTableNeedsRefresh;
   private HashSet<ITestElement> fNeedUpdate;
+  private LinkedHashSet<ITestElement> fNeedAdd;
   private ITestCaseElement fAutoScrollTarget;
 
   private LinkedList<ITestSuiteElement> fAutoClose;
@@ -155,8 +156,12 @@ public class TestViewer {
         viewerComparator = null;
         break;
     }
-    fTableViewer.setComparator(viewerComparator);
     fTreeViewer.setComparator(viewerComparator);
+    // Виртуальная таблица сортируется провайдером
+    fTableContentProvider.setComparator(viewerComparator == null ? null : (element1, element2) -> viewerComparator.compare(fTableViewer, element1, element2));
+    if (session != null && fLayoutMode == TestRunnerViewPart.LAYOUT_FLAT && !fTableNeedsRefresh) {
+      fTableContentProvider.refresh();
+    }
   }
 
   void handleDefaultSelected() {
@@ -221,17 +226,12 @@ public class TestViewer {
       if (failuresOnly || ignoredOnly) {
         if (getActiveViewerHasFilter()) {
           //For simplicity clear both filters (only one of them is used)
-          viewer.removeFilter(fFailuresOnlyFilter);
-          viewer.removeFilter(fIgnoredOnlyFilter);
+          removeActiveViewerFilters(viewer);
         }
         setActiveViewerHasFilter(true);
         viewer.setInput(null);
         //Set either the failures or the skipped tests filter
-        ViewerFilter filter = fFailuresOnlyFilter;
-        if (ignoredOnly) {
-          filter = fIgnoredOnlyFilter;
-        }
-        viewer.addFilter(filter);
+        addActiveViewerFilter(viewer, ignoredOnly);
         setActiveViewerNeedsRefresh(true);
 
       } else {
@@ -239,8 +239,7 @@ public class TestViewer {
           setActiveViewerNeedsRefresh(true);
           setActiveViewerHasFilter(false);
           viewer.setInput(null);
-          viewer.removeFilter(fIgnoredOnlyFilter);
-          viewer.removeFilter(fFailuresOnlyFilter);
+          removeActiveViewerFilters(viewer);
         }
       }
       processChangesInUI();
@@ -276,11 +275,24 @@ public class TestViewer {
       viewer.setInput(session);
 
     } else {
+      ITestElement[] toAdd;
       ITestElement[] toUpdate;
       synchronized (this) {
+        toAdd = fNeedAdd.toArray(ITestElement[]::new);
+        fNeedAdd.clear();
         toUpdate = fNeedUpdate.toArray(ITestElement[]::new);
         fNeedUpdate.clear();
       }
+      if (!fTreeNeedsRefresh) {
+        // Наборы добавляются раньше своих тестов, порядок добавления сохраняется
+        for (var element : toAdd) {
+          var parent = element.getParent();
+          fTreeViewer.add(parent == null ? session : parent, element);
+        }
+      }
+      if (!fTableNeedsRefresh && toAdd.length > 0) {
+        fTableContentProvider.refresh();
+      }
       if (!fTreeNeedsRefresh && toUpdate.length > 0) {
         if (fTreeHasFilter) {
           for (var element : toUpdate) {
@@ -299,13 +311,7 @@ public class TestViewer {
         }
       }
       if (!fTableNeedsRefresh && toUpdate.length > 0) {
-        if (fTableHasFilter) {
-          for (var element : toUpdate) {
-            updateElementInTable(element);
-          }
-        } else {
-          fTableViewer.update(toUpdate, null);
-        }
+        updateElementsInTable(toUpdate);
       }
     }
     autoScrollInUI();
@@ -340,6 +346,25 @@ public class TestViewer {
     clearUpdateAndExpansion();
   }
 
+  public synchronized void registerTestAdded(ITestElement testElement) {
+    fNeedAdd.add(testElement);
+  }
+
+  public synchronized void registerViewerUpdate(final ITestElement testElement) {
+    fNeedUpdate.add(testElement);
+  }
+
+  public void registerAutoScrollTarget(ITestCaseElement testCaseElement) {
+    fAutoScrollTarget = testCaseElement;
+  }
+
+  public synchronized void registerFailedForAutoScroll(ITestElement testElement) {
+    var parent = (TestSuiteElement) fTreeContentProvider.getParent(testElement);
+    if (parent != null) {
+      fAutoExpand.add(parent);
+    }
+  }
+
   void expandFirstLevel() {
     fTreeViewer.expandToLevel(2);
   }
@@ -354,9 +379,9 @@ public class TestViewer {
     fTreeLabelProvider = new TestSessionLabelProvider(fTestRunnerPart, TestRunnerViewPart.LAYOUT_HIERARCHICAL);
     fTreeViewer.setLabelProvider(new ColoringLabelProvider(fTreeLabelProvider));
 
-    fTableViewer = new TableViewer(fViewerBook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE);
+    fTableViewer = new TableViewer(fViewerBook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE | SWT.VIRTUAL);
     fTableViewer.setUseHashlookup(true);
-    TestSessionTableContentProvider fTableContentProvider = new TestSessionTableContentProvider();
+    fTableContentProvider = new TestSessionTableContentProvider(fTableViewer);
     fTableViewer.setContentProvider(fTableContentProvider);
     fTableLabelProvider = new TestSessionLabelProvider(fTestRunnerPart, TestRunnerViewPart.LAYOUT_FLAT);
     fTableViewer.setLabelProvider(new ColoringLabelProvider(fTableLabelProvider));
@@ -572,28 +597,33 @@ public class TestViewer {
     }
   }
 
-  private void updateElementInTable(ITestElement element) {
-    if (isShown(element)) {
-      if (fTableViewer.testFindItem(element) == null) {
-        var previous = getNextFailure(element, false);
-        int insertionIndex = -1;
-        if (previous != null) {
-          TableItem item = (TableItem) fTableViewer.testFindItem(previous);
-          if (item != null) {
-            insertionIndex = fTableViewer.getTable().indexOf(item);
-          }
-        }
-        fTableViewer.insert(element, insertionIndex);
-      } else {
-        fTableViewer.update(element, null);
+  private void updateElementsInTable(ITestElement[] elements) {
+    // Таблица виртуальная: вместо вставки/удаления строк перестраиваем список элементов,
+    // если изменился состав отображаемых элементов, иначе обновляем только созданные строки
+    for (var element : elements) {
+      if (fTableContentProvider.isListed(element) != (fTableContentProvider.indexOf(element) >= 0)) {
+        fTableContentProvider.refresh();
+        return;
       }
+    }
+    fTableViewer.update(elements, null);
+  }
+
+  private void addActiveViewerFilter(StructuredViewer viewer, boolean ignoredOnly) {
+    if (viewer == fTableViewer) {
+      fTableContentProvider.setFilter(ignoredOnly ? fIgnoredOnlyFilter::select : fFailuresOnlyFilter::select);
     } else {
-      fTableViewer.remove(element);
+      viewer.addFilter(ignoredOnly ? fIgnoredOnlyFilter : fFailuresOnlyFilter);
     }
   }
 
-  private boolean isShown(ITestElement current) {
-    return fFailuresOnlyFilter.select(current);
+  private void removeActiveViewerFilters(StructuredViewer viewer) {
+    if (viewer == fTableViewer) {
+      fTableContentProvider.setFilter(null);
+    } else {
+      viewer.removeFilter(fFailuresOnlyFilter);
+      viewer.removeFilter(fIgnoredOnlyFilter);
+    }
   }
 
   private void autoScrollInUI() {
@@ -605,7 +635,11 @@ public class TestViewer {
 
     if (fLayoutMode == TestRunnerViewPart.LAYOUT_FLAT) {
       if (fAutoScrollTarget != null) {
-        fTableViewer.reveal(fAutoScrollTarget);
+        int index = fTableContentProvider.indexOf(fAutoScrollTarget);
+        if (index >= 0) {
+          var table = fTableViewer.getTable();
+          table.showItem(table.getItem(index));
+        }
       }
       return;
     }
@@ -719,6 +753,7 @@ public class TestViewer {
 
   private void clearUpdateAndExpansion() {
     fNeedUpdate = new LinkedHashSet<>();
+    fNeedAdd = new LinkedHashSet<>();
     fAutoClose = new LinkedList<>();
     fAutoExpand = new HashSet<>();
   }
@@ -745,7 +780,7 @@ public class TestViewer {
     }
   }
 
-  private static final class TestNameComparator extends ViewerComparator {
+  static final class TestNameComparator extends ViewerComparator {
     @Override
     public int compare(Viewer viewer, Object testElement1, Object testElement2) {
       var testName1 = ((ITestElement) testElement1).getName();
@@ -754,7 +789,7 @@ public class TestViewer {
     }
   }
 
-  private static final class TestExecutionTimeComparator extends ViewerComparator {
+  static final class TestExecutionTimeComparator extends ViewerComparator {
     @Override
     public int compare(Viewer viewer, Object testElement1, Object testElement2) {
       var elapsedTime1 = ((ITestElement) testElement1).getElapsedTimeInSeconds();
@@ -807,19 +842,19 @@ public class TestViewer {
     }
   }
 
-  private static final class FailuresOnlyFilter extends ViewerFilter {
+  static final class FailuresOnlyFilter extends ViewerFilter {
     @Override
     public boolean select(Viewer viewer, Object parentElement, Object element) {
       return select(((ITestElement) element));
     }
 
     public boolean select(ITestElement testElement) {
-      var status = testElement.getResultStatus(true);
+      var status = testElement instanceof TestCaseElement ? ((TestCaseElement) testElement).getResult() : testElement.getResultStatus(true);
       return status == TestResult.ERROR || status == TestResult.FAILURE;  // rerunning
     }
   }
 
-  private static final class IgnoredOnlyFilter extends ViewerFilter {
+  static final class IgnoredOnlyFilter extends ViewerFilter {
     @Override
     public boolean select(Viewer viewer, Object parentElement, Object element) {
       return select(((ITestElement) element));
@@ -838,6 +873,12 @@ public class TestViewer {
      * {@link TestResult#SKIPPED} test result
      */
     private boolean hasIgnoredInTestResult(ITestElement testElement) {
+      if (testElement instanceof TestCaseElement) {
+        return ((TestCaseElement) testElement).getResult() == TestResult.SKIPPED;
+      }
+      if (testElement instanceof TestSuiteElement) {
+        return ((TestSuiteElement) testElement).getSkipped() > 0;
+      }
       if (testElement instanceof ITestSuiteElement) {
         var children = ((ITestSuiteElement) testElement).getChildren();
         for (var child : children) {
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.ui.report;
+
+import org.eclipse.swt.widgets.Display;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Планировщик обновления представления.
+ * <p>
+ * Объединяет запросы на обновление, поступающие из потоков выполнения тестов, и выполняет обработку
+ * в UI потоке не чаще одного раза за {@link #INTERVAL} мс. Все изменения, накопленные за интервал
+ * (элементы дерева, счетчики, прогресс), применяются за один проход.
+ */
+class UpdateScheduler {
+  /**
+   * Минимальный интервал между обновлениями, мс
+   */
+  static final int INTERVAL = 150;
+
+  private final Display display;
+  private final Runnable update;
+  private final BooleanSupplier disposed;
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private volatile long lastUpdate;
+
+  /**
+   * @param display  дисплей, в потоке которого выполняется обновление
+   * @param update   обработчик накопленных изменений
+   * @param disposed признак закрытия представления, после которого обновления не выполняются
+   */
+  UpdateScheduler(Display display, Runnable update, BooleanSupplier disposed) {
+    this.display = display;
+    this.update = update;
+    this.disposed = disposed;
+  }
+
+  /**
+   * Запрашивает обновление. Может вызываться из любого потока, не блокирует вызывающий поток.
+   * Повторные запросы до выполнения обновления объединяются.
+   */
+  void schedule() {
+    if (display.isDisposed() || !scheduled.compareAndSet(false, true)) {
+      return;
+    }
+    display.asyncExec(() -> {
+      long delay = lastUpdate + INTERVAL - System.currentTimeMillis();
+      if (delay > 0) {
+        display.timerExec((int) delay, this::run);
+      } else {
+        run();
+      }
+    });
+  }
+
+  /**
+   * Выполняет накопленные изменения немедленно. Вызывается только из UI потока.
+   */
+  void flush() {
+    run();
+  }
+
+  private void run() {
+    scheduled.set(false);
+    lastUpdate = System.currentTimeMillis();
+    if (!disposed.getAsBoolean()) {
+      update.run();
+    }
+  }
+}
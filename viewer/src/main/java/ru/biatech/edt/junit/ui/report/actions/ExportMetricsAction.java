@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.ui.report.actions;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.dialogs.ErrorDialog;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.FileDialog;
+import ru.biatech.edt.junit.Serializer;
+import ru.biatech.edt.junit.TestViewerPlugin;
+import ru.biatech.edt.junit.diagnostics.Metrics;
+import ru.biatech.edt.junit.ui.UIMessages;
+import ru.biatech.edt.junit.ui.report.TestRunnerViewPart;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.MessageFormat;
+
+/**
+ * Команда выгрузки метрик плагина (таймеры, счетчики и последние замеры) в JSON файл
+ */
+public class ExportMetricsAction extends Action {
+  public ExportMetricsAction() {
+    super(UIMessages.TestRunnerViewPart_ExportMetricsAction_name);
+  }
+
+  @Override
+  public void run() {
+    var shell = TestViewerPlugin.ui().getShell();
+
+    var exportDialog = new FileDialog(shell, SWT.SAVE | SWT.SHEET);
+    exportDialog.setText(UIMessages.TestRunnerViewPart_ExportMetricsAction_title);
+    var dialogSettings = TestViewerPlugin.getDefault().getDialogSettings();
+    var lastPath = dialogSettings.get(TestRunnerViewPart.PREF_LAST_PATH);
+    if (lastPath != null) {
+      exportDialog.setFilterPath(lastPath);
+    }
+    exportDialog.setFileName("xunit-diagnostics.json"); //$NON-NLS-1$
+    exportDialog.setFilterExtensions(new String[]{"*.json", "*.*"}); //$NON-NLS-1$ //$NON-NLS-2$
+    exportDialog.setOverwrite(true);
+    var path = exportDialog.open();
+    if (path == null) {
+      return;
+    }
+
+    try {
+      Serializer.getJsonMapper().writerWithDefaultPrettyPrinter().writeValue(new File(path), Metrics.snapshot());
+    } catch (IOException e) {
+      var message = MessageFormat.format(UIMessages.TestRunnerViewPart_ExportMetricsAction_error, path);
+      var status = TestViewerPlugin.log().createErrorStatus(message, e);
+      TestViewerPlugin.log().log(status);
+      ErrorDialog.openError(shell, UIMessages.TestRunnerViewPart_ExportMetricsAction_title, message, status);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.ui.report.actions;
+
+import org.eclipse.jface.action.Action;
+import ru.biatech.edt.junit.ui.UIMessages;
+import ru.biatech.edt.junit.ui.dialogs.TimingReportDialog;
+import ru.biatech.edt.junit.ui.report.TestRunnerViewPart;
+
+/**
+ * Команда отображения отчета о длительности тестов активной сессии
+ */
+public class ShowTimingReportAction extends Action {
+  private final TestRunnerViewPart view;
+
+  public ShowTimingReportAction(TestRunnerViewPart view) {
+    super(UIMessages.TestRunnerViewPart_ShowTimingReportAction_name);
+    this.view = view;
+  }
+
+  @Override
+  public void run() {
+    var session = view.getSession();
+    if (session != null) {
+      new TimingReportDialog(view.getShell(), session).open();
+    }
+  }
+}
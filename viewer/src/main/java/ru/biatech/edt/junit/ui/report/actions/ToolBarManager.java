@@ -63,6 +63,7 @@ public class ToolBarManager {
   private List<ToggleSortingAction> toggleSortingActions;
   private Action rerunSessionAction;
   private Action rerunFailedTestsAction;
+  private Action showTimingReportAction;
 
   private IMenuListener viewMenuListener;
 
@@ -140,6 +141,9 @@ public class ToolBarManager {
     viewMenu.add(ignoredOnlyFilterAction);
     viewMenu.add(activateOnErrorAction = new ActivateOnErrorAction(settings));
     viewMenu.add(showWebStackTraceAction = new ShowWebStackTraceAction(settings));
+    viewMenu.add(new Separator());
+    viewMenu.add(showTimingReportAction = new ShowTimingReportAction(view));
+    viewMenu.add(new ExportMetricsAction());
 
     viewMenuListener = manager -> activateOnErrorAction.update();
 
@@ -173,6 +177,7 @@ public class ToolBarManager {
     var sessionRunnable = session != null && session.getLaunch() != null;
     rerunSessionAction.setEnabled(sessionRunnable);
     rerunFailedTestsAction.setEnabled(sessionRunnable && view.hasErrorsOrFailures());
+    showTimingReportAction.setEnabled(session != null);
   }
 
   public void dispose() {
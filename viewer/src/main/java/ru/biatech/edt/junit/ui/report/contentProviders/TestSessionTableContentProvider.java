@@ -17,37 +17,140 @@
 
 package ru.biatech.edt.junit.ui.report.contentProviders;
 
-import org.eclipse.jface.viewers.IStructuredContentProvider;
+import org.eclipse.jface.viewers.ILazyContentProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.Viewer;
 import ru.biatech.edt.junit.model.ITestCaseElement;
 import ru.biatech.edt.junit.model.ITestElement;
 import ru.biatech.edt.junit.model.ITestElementContainer;
 import ru.biatech.edt.junit.model.Session;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /**
- * Провайдер, для отображения дерева тестов в таблице
+ * Провайдер, для отображения дерева тестов в таблице.
+ * <p>
+ * Используется с виртуальной таблицей ({@link org.eclipse.swt.SWT#VIRTUAL}): строки таблицы и их представления
+ * создаются только для видимых элементов. Поскольку {@link ILazyContentProvider} не поддерживает фильтры
+ * и сортировку средствами {@link TableViewer}, они применяются провайдером при построении списка элементов.
  */
-public class TestSessionTableContentProvider implements IStructuredContentProvider {
+public class TestSessionTableContentProvider implements ILazyContentProvider {
+
+  private static final ITestElement[] NO_ELEMENTS = new ITestElement[0];
+
+  private final TableViewer viewer;
+  private Session session;
+  private Predicate<ITestElement> filter;
+  private Comparator<ITestElement> comparator;
+  private ITestElement[] elements = NO_ELEMENTS;
+  private Map<ITestElement, Integer> indexes;
+
+  public TestSessionTableContentProvider(TableViewer viewer) {
+    this.viewer = viewer;
+  }
+
+  @Override
+  public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+    session = (Session) newInput;
+    rebuild();
+  }
 
   @Override
-  public Object[] getElements(Object inputElement) {
-    ArrayList<ITestElement> all = new ArrayList<>();
-    addAll(all, (Session) inputElement);
-    return all.toArray();
+  public void updateElement(int index) {
+    var current = elements;
+    if (index < current.length) {
+      viewer.replace(current[index], index);
+    }
+  }
+
+  /**
+   * Устанавливает фильтр элементов таблицы
+   *
+   * @param filter фильтр или {@code null}
+   */
+  public void setFilter(Predicate<ITestElement> filter) {
+    this.filter = filter;
+  }
+
+  /**
+   * Устанавливает порядок элементов таблицы
+   *
+   * @param comparator порядок или {@code null} - в порядке выполнения
+   */
+  public void setComparator(Comparator<ITestElement> comparator) {
+    this.comparator = comparator;
+  }
+
+  /**
+   * Перестраивает список элементов и обновляет видимые строки таблицы
+   */
+  public void refresh() {
+    rebuild();
+    viewer.getTable().clearAll();
+  }
+
+  /**
+   * Возвращает номер строки элемента
+   *
+   * @param element элемент
+   * @return номер строки или -1, если элемент не отображается
+   */
+  public int indexOf(ITestElement element) {
+    if (indexes == null) {
+      var map = new IdentityHashMap<ITestElement, Integer>(elements.length);
+      for (int i = 0; i < elements.length; i++) {
+        map.put(elements[i], i);
+      }
+      indexes = map;
+    }
+    return indexes.getOrDefault(element, -1);
+  }
+
+  /**
+   * Проверяет, должен ли элемент отображаться в таблице с учетом его текущего состояния
+   *
+   * @param element элемент
+   * @return признак отображения элемента
+   */
+  public boolean isListed(ITestElement element) {
+    if (element instanceof ITestElementContainer) {
+      return element.getStatus().isErrorOrFailure() && select(element);
+    }
+    return element instanceof ITestCaseElement && select(element);
+  }
+
+  private void rebuild() {
+    if (session == null) {
+      elements = NO_ELEMENTS;
+    } else {
+      var all = new ArrayList<ITestElement>();
+      addAll(all, session);
+      if (comparator != null) {
+        all.sort(comparator);
+      }
+      elements = all.toArray(NO_ELEMENTS);
+    }
+    indexes = null;
+    viewer.setItemCount(elements.length);
   }
 
   private void addAll(ArrayList<ITestElement> all, ITestElementContainer suite) {
     var children = suite.getChildren();
     for (var element : children) {
+      if (isListed(element)) {
+        all.add(element); // failed suites are added to flat list too
+      }
       if (element instanceof ITestElementContainer) {
-        if (element.getStatus().isErrorOrFailure()) {
-          all.add(element); // add failed suite to flat list too
-        }
         addAll(all, (ITestElementContainer) element);
-      } else if (element instanceof ITestCaseElement) {
-        all.add(element);
       }
     }
   }
+
+  private boolean select(ITestElement element) {
+    return filter == null || filter.test(element);
+  }
 }
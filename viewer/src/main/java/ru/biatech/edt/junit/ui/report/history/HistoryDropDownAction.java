@@ -85,6 +85,14 @@ class HistoryDropDownAction<E> extends Action {
 
           manager2.add(new Separator());
 
+          String footprint = fHistory.getFootprintText();
+          if (footprint != null) {
+            Action footprintAction = new Action(footprint) {
+            };
+            footprintAction.setEnabled(false);
+            manager2.add(footprintAction);
+          }
+
           Action clearAction = fHistory.getClearAction();
           if (clearAction != null) {
             manager2.add(clearAction);
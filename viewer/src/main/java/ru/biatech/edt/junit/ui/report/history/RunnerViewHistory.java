@@ -23,6 +23,7 @@ import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IWorkbenchActionConstants;
 import ru.biatech.edt.junit.BasicElementLabels;
+import ru.biatech.edt.junit.Preferences;
 import ru.biatech.edt.junit.TestViewerPlugin;
 import ru.biatech.edt.junit.model.Session;
 import ru.biatech.edt.junit.ui.UIMessages;
@@ -89,24 +90,20 @@ public class RunnerViewHistory extends ViewHistory<Session> {
 
   @Override
   public void setActiveEntry(Session entry) {
-    var deactivatedSession = testRunnerViewPart.setActiveSession(entry);
-    if (deactivatedSession != null) {
-      deactivatedSession.swapOut();
-    }
+    testRunnerViewPart.showSession(entry);
+    TestViewerPlugin.core().getSessionsManager().scheduleRetention();
   }
 
   @Override
   public void setHistoryEntries(List<Session> remainingEntries, Session activeEntry) {
-    testRunnerViewPart.setActiveSession(activeEntry);
+    testRunnerViewPart.showSession(activeEntry);
 
     var sessions = TestViewerPlugin.core().getSessionsManager().getSessions();
     sessions.removeAll(remainingEntries);
     for (var session : sessions) {
       TestViewerPlugin.core().getSessionsManager().removeSession(session);
     }
-    for (var remaining : remainingEntries) {
-      remaining.swapOut();
-    }
+    TestViewerPlugin.core().getSessionsManager().scheduleSwapOut(remainingEntries);
   }
 
   @Override
@@ -147,6 +144,20 @@ public class RunnerViewHistory extends ViewHistory<Session> {
     }
   }
 
+  @Override
+  public String getFootprintText() {
+    var manager = TestViewerPlugin.core().getSessionsManager();
+    var sessions = manager.getSessions();
+    var swapped = sessions.stream().filter(Session::isSwapped).count();
+    var maxMemory = Preferences.getHistoryMaxMemory();
+    return MessageFormat.format(UIMessages.TestRunnerViewPart_history_footprint,
+        sessions.size(), swapped, toMegabytes(manager.getRetainedSize()), maxMemory > 0 ? maxMemory : "-"); //$NON-NLS-1$
+  }
+
+  private static String toMegabytes(long bytes) {
+    return String.format("%.1f", bytes / (1024.0 * 1024.0)); //$NON-NLS-1$
+  }
+
   @Override
   public void addMenuEntries(MenuManager manager) {
     manager.appendToGroup(IWorkbenchActionConstants.MB_ADDITIONS, new ImportTestRunSessionAction());
@@ -95,6 +95,13 @@ public abstract class ViewHistory<E> {
    */
   public abstract String getText(E element);
 
+  /**
+   * @return description of the memory used by the history entries, or <code>null</code>
+   */
+  public String getFootprintText() {
+    return null;
+  }
+
   /**
    * @return a history drop down action, ready for inclusion in a view toolbar
    */
@@ -32,6 +32,7 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import ru.biatech.edt.junit.Serializer;
 import ru.biatech.edt.junit.TestViewerPlugin;
+import ru.biatech.edt.junit.diagnostics.Metrics;
 import ru.biatech.edt.junit.model.ITestElement;
 import ru.biatech.edt.junit.model.report.ErrorInfo;
 import ru.biatech.edt.junit.model.report.Failure;
@@ -252,6 +253,12 @@ public class StackTraceHtmlView implements StackTraceView {
   }
 
   private void renderTest() {
+    try (var ignored = Metrics.span("ui.renderTest")) {
+      doRenderTest();
+    }
+  }
+
+  private void doRenderTest() {
     treeItems.clear();
     var tree = mixin.getTree();
     String content;
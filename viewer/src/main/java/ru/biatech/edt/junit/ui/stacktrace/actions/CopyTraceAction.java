@@ -85,6 +85,6 @@ public class CopyTraceAction extends SelectionListenerAction {
   public void handleTestSelected(ITestElement test) {
     testElement = test;
     errorInfo = null;
-    setEnabled(testElement != null && testElement.getErrorsList().findAny().isPresent());
+    setEnabled(testElement != null && testElement.hasErrors());
   }
 }
@@ -28,6 +28,7 @@ import ru.biatech.edt.junit.yaxunit.remote.RemoteLaunchManager;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -38,6 +39,10 @@ public class LaunchSettings {
   String reportPath;
   String reportFormat = Constants.REPORT_FORMAT;
   boolean closeAfterTests = true;
+  /**
+   * Количество упавших тестов, после которого YAxUnit прекращает выполнение, 0 - выполнять все тесты
+   */
+  int stopAfterFailures;
   Filter filter;
   LoggingSettings logging;
   RpcSettings rpc;
@@ -62,11 +67,12 @@ public class LaunchSettings {
       settings.extensionName = extension.getDtProject().getName();
     }
 
-    var tests = LaunchConfigurationAttributes.getTestMethods(configuration);
+    var tests = TestOrder.order(LaunchConfigurationAttributes.getTestMethods(configuration), extension);
 
     if (tests != null) {
-      settings.usedModules = tests.stream().map(t -> t.split("\\.")[0])
-          .collect(Collectors.toUnmodifiableSet());
+      // Порядок модулей соответствует порядку тестов, используется при запуске без перезапуска клиента
+      settings.usedModules = Collections.unmodifiableSet(tests.stream().map(TestOrder::moduleName)
+          .collect(Collectors.toCollection(LinkedHashSet::new)));
     }
 
     if (tests != null && tests.size() == 1) {
@@ -77,6 +83,14 @@ public class LaunchSettings {
       }
     }
 
+    if (tests == null || tests.isEmpty()) {
+      // Модуль или расширение целиком: тесты перечисляются, только если есть что выполнить первыми
+      var ordered = TestOrder.orderModules(filter.modules, extension);
+      if (ordered != null) {
+        tests = ordered;
+      }
+    }
+
     filter.tests = tests;
 
     var logging = new LoggingSettings();
@@ -93,6 +107,7 @@ public class LaunchSettings {
     settings.filter = filter;
     settings.logging = logging;
     settings.projectPath = LaunchConfigurationAttributes.getProjectPath(configuration);
+    settings.stopAfterFailures = LaunchConfigurationAttributes.getStopAfterFailures(configuration);
 
     if (useRemoteLaunch) {
       settings.rpc = new RpcSettings();
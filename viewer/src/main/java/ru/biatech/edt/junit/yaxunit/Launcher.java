@@ -16,6 +16,7 @@
 
 package ru.biatech.edt.junit.yaxunit;
 
+import com._1c.g5.v8.dt.core.platform.IV8Project;
 import com._1c.g5.v8.dt.launching.core.ILaunchConfigurationAttributes;
 import com._1c.g5.v8.dt.metadata.mdclass.CommonModule;
 import lombok.SneakyThrows;
@@ -31,17 +32,34 @@ import ru.biatech.edt.junit.kinds.IUnitLauncher;
 import ru.biatech.edt.junit.kinds.TestKindRegistry;
 import ru.biatech.edt.junit.launcher.v8.LaunchConfigurationAttributes;
 import ru.biatech.edt.junit.launcher.v8.LaunchHelper;
+import ru.biatech.edt.junit.model.Session;
 import ru.biatech.edt.junit.model.SessionsManager;
+import ru.biatech.edt.junit.model.TestCaseElement;
+import ru.biatech.edt.junit.model.TestSuiteElement;
+import ru.biatech.edt.junit.services.TestsManager;
 import ru.biatech.edt.junit.ui.utils.StringUtilities;
 import ru.biatech.edt.junit.v8utils.Modules;
 import ru.biatech.edt.junit.v8utils.Projects;
+import ru.biatech.edt.junit.yaxunit.remote.ClientNotFound;
 import ru.biatech.edt.junit.yaxunit.remote.RemoteLaunchManager;
+import ru.biatech.edt.junit.yaxunit.remote.RemoteRunListener;
+import ru.biatech.edt.junit.yaxunit.remote.dto.ModuleContent;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 public class Launcher implements IUnitLauncher {
 
+  private static final long MONITOR_POLL_INTERVAL = 200;
+
   @Override
   public void launch(ILaunchConfiguration configuration, String launchMode, ILaunch launch, IProgressMonitor monitor) throws CoreException {
     TestViewerPlugin.log().debug(Messages.Launcher_Launch, configuration);
@@ -114,37 +132,109 @@ public class Launcher implements IUnitLauncher {
       return false;
     }
 
-    if (settings.usedModules == null || settings.usedModules.size() != 1) {
-      TestViewerPlugin.log().info("Будет выполнен перезапуск предприятия. Запуск тестов без перезапуска работает только для одного модуля.");
+    if (settings.usedModules == null || settings.usedModules.isEmpty()) {
+      TestViewerPlugin.log().info("Будет выполнен перезапуск предприятия. Запуск тестов без перезапуска работает только для тестов общих модулей.");
       return false;
     }
 
-    var moduleName = settings.usedModules.stream().findFirst().get();
-
     var project = LaunchHelper.getProject(configuration);
-    Optional<CommonModule> moduleOpt;
+    var modules = new ArrayList<ModuleContent>(settings.usedModules.size());
+    for (var moduleName : settings.usedModules) {
+      var moduleOpt = findCommonModule(project, moduleName);
+      if (moduleOpt.isEmpty()) {
+        TestViewerPlugin.log().logError("Не удалось найти модуль " + moduleName);
+        return false;
+      }
+      var module = moduleOpt.get();
+
+      var prefix = moduleName + '.';
+      List<String> methods = settings.filter.tests == null ? List.of() : settings.filter.tests.stream()
+          .filter(t -> t.regionMatches(true, 0, prefix, 0, prefix.length()))
+          .collect(Collectors.toList());
+      if (methods.isEmpty()) {
+        // Явный список нужен для распределения между клиентами и для выполнения вероятных падений первыми
+        methods = TestsManager.getTestMethods(module.getModule()).stream()
+            .filter(m -> !Engine.isRegistrationTestsMethod(m))
+            .map(m -> prefix + m.getName())
+            .collect(Collectors.toList());
+        methods = TestOrder.order(methods, project);
+      }
+      modules.add(new ModuleContent(Modules.getModuleContent(module), moduleName, methods,
+          module.isServer(), module.isClientManagedApplication(), module.isClientOrdinaryApplication()));
+    }
+
+    // Отмена запуска передается клиентам, полученные результаты остаются в сессии
+    var failFast = new CompletableFuture<Void>();
+    var session = SessionsManager.getInstance().startRemoteSession(launch, () -> failFast.complete(null));
+    CompletableFuture<TestSuiteElement[]> future;
+    try {
+      future = RemoteLaunchManager.launchTest(modules, newRunListener(session));
+    } catch (ClientNotFound | RuntimeException e) {
+      // Запуск не начат, сессия не должна остаться выполняющейся
+      SessionsManager.getInstance().abortRemoteSession(session);
+      throw e;
+    }
+    failFast.thenRun(() -> future.cancel(false));
+    future.whenComplete((suites, error) -> {
+      if (error != null && !(error instanceof CancellationException)) {
+        TestViewerPlugin.log().logError("Ошибка удаленного запуска тестов", error);
+      }
+      if (error != null) {
+        session.stopTestRun();
+      }
+      SessionsManager.getInstance().finishRemoteSession(session, suites);
+      monitor.done();
+    });
+
+    waitRemoteLaunch(future, monitor);
+    return true;
+  }
+
+  private static Optional<CommonModule> findCommonModule(IV8Project project, String moduleName) {
     if (project == null) {
-      moduleOpt = Projects.getExtensions().stream()
+      return Projects.getExtensions().stream()
           .map(p -> Modules.findCommonModule(p, moduleName))
           .filter(Optional::isPresent)
           .map(Optional::get)
           .findAny();
     } else {
-      moduleOpt = Modules.findCommonModule(project, moduleName);
+      return Modules.findCommonModule(project, moduleName);
     }
-    if (moduleOpt.isEmpty()) {
-      TestViewerPlugin.log().logError("Не удалось найти модуль " + moduleName);
-      return false;
+  }
+
+  /**
+   * Ожидает завершения удаленного запуска, отмена запуска пользователем передается клиенту
+   */
+  private static void waitRemoteLaunch(CompletableFuture<?> future, IProgressMonitor monitor) throws InterruptedException {
+    while (!future.isDone()) {
+      if (monitor.isCanceled()) {
+        future.cancel(false);
+        return;
+      }
+      try {
+        future.get(MONITOR_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+      } catch (ExecutionException | CancellationException | TimeoutException ignored) {
+        // Результат обрабатывается в whenComplete
+      }
     }
-    var module = moduleOpt.get();
+  }
 
-    var content = Modules.getModuleContent(module);
-    RemoteLaunchManager.launchTest(content, moduleName, settings.filter.tests, module.isServer(), module.isClientManagedApplication(), module.isClientOrdinaryApplication())
-        .thenAccept(suites -> {
-          SessionsManager.getInstance().importSession(suites, launch);
-          monitor.done();
-        });
+  private static RemoteRunListener newRunListener(Session session) {
+    return new RemoteRunListener() {
+      @Override
+      public void suiteStarted(TestSuiteElement suite) {
+        session.startSuite(suite);
+      }
 
-    return true;
+      @Override
+      public void testStarted(TestSuiteElement suite, TestCaseElement test) {
+        session.startTest(suite, test);
+      }
+
+      @Override
+      public void testFinished(TestSuiteElement suite, TestCaseElement test) {
+        session.finishTest(suite, test);
+      }
+    };
   }
 }
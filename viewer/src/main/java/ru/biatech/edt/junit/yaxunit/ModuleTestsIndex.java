@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.yaxunit;
+
+import com._1c.g5.v8.dt.bsl.model.Method;
+import com._1c.g5.v8.dt.bsl.model.Module;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import ru.biatech.edt.junit.TestViewerPlugin;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Кеш зарегистрированных тестов модулей.
+ * <p>
+ * Запись хранится по URI ресурса модуля и считается актуальной, пока не изменились экземпляр модуля
+ * и отметка изменения его текста. Любое изменение текста модуля (в том числе в редакторе) меняет отметку,
+ * и тесты модуля будут вычислены заново при следующем обращении.
+ * <p>
+ * В записи также запоминается признак тестового модуля, который проверяется валидатором маркеров для каждого модуля
+ * рабочей области. Признак и список тестов вычисляются при первом обращении к ним, поэтому для модулей,
+ * которые только проверяются на признак тестового, тесты не перебираются.
+ * <p>
+ * Записи удаленных и измененных файлов, а также модулей удаленных и закрытых проектов
+ * удаляются по событиям изменения ресурсов, чтобы кеш не удерживал объекты выгруженных ресурсов.
+ */
+class ModuleTestsIndex implements IResourceChangeListener {
+
+  private final Map<URI, Entry> entries = new ConcurrentHashMap<>();
+  private final Function<Module, List<Method>> loader;
+  private final Function<Module, Boolean> testModuleCheck;
+  private boolean started;
+
+  /**
+   * @param loader          вычисляет список тестов модуля, включая метод регистрации тестов
+   * @param testModuleCheck проверяет, является ли модуль тестовым; {@code null} - проект модуля еще не загружен,
+   *                        результат не запоминается
+   */
+  ModuleTestsIndex(Function<Module, List<Method>> loader, Function<Module, Boolean> testModuleCheck) {
+    this.loader = loader;
+    this.testModuleCheck = testModuleCheck;
+  }
+
+  /**
+   * Возвращает тесты модуля
+   *
+   * @param module модуль
+   * @return неизменяемый список тестов, включая метод регистрации тестов
+   */
+  Collection<Method> getTests(Module module) {
+    return getEntry(module).getTests();
+  }
+
+  /**
+   * Проверяет, является ли модуль тестовым
+   *
+   * @param module модуль
+   * @return признак, это тестовый модуль
+   */
+  boolean isTestModule(Module module) {
+    return getEntry(module).isTestModule();
+  }
+
+  /**
+   * Проверяет, зарегистрирован ли метод как тест
+   *
+   * @param module     модуль
+   * @param methodName имя метода
+   * @return признак, это тест
+   */
+  boolean isTest(Module module, String methodName) {
+    return methodName != null && getEntry(module).getByName().containsKey(methodName.toLowerCase());
+  }
+
+  @Override
+  public void resourceChanged(IResourceChangeEvent event) {
+    var delta = event.getDelta();
+    if (delta == null) {
+      return;
+    }
+    try {
+      delta.accept(child -> {
+        var resource = child.getResource();
+        if (resource.getType() == IResource.PROJECT
+            && (child.getKind() != IResourceDelta.CHANGED || (child.getFlags() & IResourceDelta.OPEN) != 0)) {
+          invalidateProject(resource.getName());
+          return false;
+        }
+        if (resource.getType() == IResource.FILE
+            && (child.getKind() != IResourceDelta.CHANGED || (child.getFlags() & IResourceDelta.CONTENT) != 0)) {
+          invalidate(URI.createPlatformResourceURI(resource.getFullPath().toString(), true));
+        }
+        return true;
+      });
+    } catch (CoreException e) {
+      TestViewerPlugin.log().logError(e);
+      entries.clear();
+    }
+  }
+
+  /**
+   * Удаляет из кеша тесты модуля
+   *
+   * @param uri URI ресурса модуля
+   */
+  private void invalidate(URI uri) {
+    entries.remove(uri);
+  }
+
+  private void invalidateProject(String projectName) {
+    entries.keySet().removeIf(uri -> uri.isPlatformResource() && projectName.equals(uri.segment(1)));
+  }
+
+  /**
+   * Отключает отслеживание изменений ресурсов и очищает кеш
+   */
+  synchronized void dispose() {
+    if (started) {
+      started = false;
+      ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+    }
+    entries.clear();
+  }
+
+  private synchronized void ensureStarted() {
+    if (!started) {
+      started = true;
+      ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+    }
+  }
+
+  private Entry getEntry(Module module) {
+    var uri = module.eResource() == null ? null : module.eResource().getURI();
+    var stamp = stamp(module);
+    if (uri == null) {
+      return new Entry(module, stamp);
+    }
+    ensureStarted();
+    var entry = entries.get(uri);
+    if (entry == null || entry.module != module || entry.stamp != stamp) {
+      entry = new Entry(module, stamp);
+      entries.put(uri, entry);
+    }
+    return entry;
+  }
+
+  /**
+   * Отметка изменения модуля. Текст корневого узла хранится в узле, поэтому его хеш вычисляется один раз
+   */
+  private static long stamp(Module module) {
+    var node = NodeModelUtils.getNode(module);
+    if (node != null) {
+      var text = node.getRootNode().getText();
+      return text == null ? 0 : ((long) text.length() << 32) ^ (text.hashCode() & 0xffffffffL);
+    }
+    var resource = module.eResource();
+    return resource == null ? 0 : resource.getTimeStamp();
+  }
+
+  private class Entry {
+    final Module module;
+    final long stamp;
+    private volatile Boolean testModule;
+    private volatile Tests tests;
+
+    Entry(Module module, long stamp) {
+      this.module = module;
+      this.stamp = stamp;
+    }
+
+    boolean isTestModule() {
+      var result = testModule;
+      if (result == null) {
+        result = testModuleCheck.apply(module);
+        if (result == null) {
+          return false;
+        }
+        testModule = result;
+      }
+      return result;
+    }
+
+    List<Method> getTests() {
+      return load().list;
+    }
+
+    Map<String, Method> getByName() {
+      return load().byName;
+    }
+
+    private Tests load() {
+      var result = tests;
+      if (result == null) {
+        tests = result = new Tests(loader.apply(module));
+      }
+      return result;
+    }
+  }
+
+  private static class Tests {
+    final List<Method> list;
+    final Map<String, Method> byName = new HashMap<>();
+
+    Tests(List<Method> tests) {
+      list = Collections.unmodifiableList(tests);
+      tests.forEach(method -> byName.put(method.getName().toLowerCase(), method));
+    }
+  }
+}
@@ -26,6 +26,7 @@ import com._1c.g5.v8.dt.bsl.model.StaticFeatureAccess;
 import com._1c.g5.v8.dt.bsl.model.StringLiteral;
 import com._1c.g5.v8.dt.core.platform.IConfigurationAware;
 import com._1c.g5.v8.dt.core.platform.IV8Project;
+import com._1c.g5.v8.dt.metadata.mdclass.CommonModule;
 import com._1c.g5.v8.dt.metadata.mdclass.MdObject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -46,6 +47,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
 
@@ -56,6 +58,18 @@ public class TestFinder implements ITestFinder {
 
   public static final NamingScheme NAMING_SCHEME = new NamingScheme();
 
+  private final ModuleTestsIndex testsIndex = new ModuleTestsIndex(this::scanTests, TestFinder::checkTestModule);
+  private final TestModulesIndex testModulesIndex = new TestModulesIndex();
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public void dispose() {
+    testsIndex.dispose();
+    testModulesIndex.dispose();
+  }
+
   /**
    * @inheritDoc
    */
@@ -69,6 +83,17 @@ public class TestFinder implements ITestFinder {
    */
   @Override
   public boolean isTestModule(Module module) {
+    return testsIndex.isTestModule(module);
+  }
+
+  /**
+   * @return признак тестового модуля или {@code null}, если проект модуля еще не загружен
+   */
+  private static Boolean checkTestModule(Module module) {
+    var project = Projects.getParentProject(module);
+    if (project == null) {
+      return null;
+    }
     return Engine.isTestModule(module);
   }
 
@@ -77,15 +102,7 @@ public class TestFinder implements ITestFinder {
    */
   @Override
   public boolean isTestMethod(Module module, String methodName) {
-    // TODO Оптимизировать
-    try {
-      return findTests(module, null)
-          .stream()
-          .anyMatch(m -> m.getName().equalsIgnoreCase(methodName));
-    } catch (CoreException e) {
-      TestViewerPlugin.log().logError(e);
-      return false;
-    }
+    return testsIndex.isTest(module, methodName);
   }
 
   /**
@@ -93,6 +110,10 @@ public class TestFinder implements ITestFinder {
    */
   @Override
   public Collection<Method> findTests(Module module, IProgressMonitor pm) throws CoreException {
+    return testsIndex.getTests(module);
+  }
+
+  private List<Method> scanTests(Module module) {
     Map<String, Method> moduleMethods = new HashMap<>();
     Method rootMethod = null;
     for (Method method : module.allMethods()) {
@@ -139,12 +160,7 @@ public class TestFinder implements ITestFinder {
     var result = new ArrayList<MethodReference>();
     names.addAll(Arrays.asList(NAMING_SCHEME.getTestSuiteNames(owner)));
 
-    var testModules = LaunchHelper.getTestExtensions()
-        .stream()
-        .filter(this::isTestProject)
-        .flatMap(LaunchHelper::getTestModulesStream)
-        .filter(tm -> names.contains(tm.getName()))
-        .collect(Collectors.toList());
+    var testModules = findTestModules(names);
 
     for (var testModule : testModules) {
       try {
@@ -165,6 +181,24 @@ public class TestFinder implements ITestFinder {
     return result;
   }
 
+  private List<CommonModule> findTestModules(Set<String> names) {
+    var result = new ArrayList<CommonModule>();
+    for (var name : names) {
+      var modules = testModulesIndex.find(name);
+      if (modules == null) {
+        // Индекс еще строится, ищем перебором
+        return LaunchHelper.getTestExtensions()
+            .stream()
+            .filter(this::isTestProject)
+            .flatMap(LaunchHelper::getTestModulesStream)
+            .filter(tm -> names.contains(tm.getName()))
+            .collect(Collectors.toList());
+      }
+      result.addAll(modules);
+    }
+    return result;
+  }
+
   /**
    * @inheritDoc
    */
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.yaxunit;
+
+import com._1c.g5.v8.dt.core.platform.IExtensionProject;
+import com._1c.g5.v8.dt.metadata.mdclass.CommonModule;
+import lombok.Value;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import ru.biatech.edt.junit.TestViewerPlugin;
+import ru.biatech.edt.junit.launcher.v8.LaunchHelper;
+import ru.biatech.edt.junit.services.TestsManager;
+import ru.biatech.edt.junit.v8utils.Modules;
+import ru.biatech.edt.junit.v8utils.VendorServices;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Индекс тестовых модулей расширений рабочей области по имени модуля.
+ * <p>
+ * Строится один раз в фоновом задании, затем поддерживается по изменениям ресурсов:
+ * изменение файлов общего модуля тестового расширения приводит к перепроверке только этого модуля,
+ * добавление, удаление, открытие и закрытие проекта - к перестроению индекса.
+ * Пока индекс не построен, {@link #find(String)} возвращает {@code null}.
+ * Перестроение выполняется в новую таблицу, которая подменяет текущую по окончании,
+ * поэтому во время перестроения поиск работает по прежнему состоянию индекса.
+ */
+class TestModulesIndex extends Job implements IResourceChangeListener {
+
+  private static final String COMMON_MODULES_FOLDER = "CommonModules"; //$NON-NLS-1$
+
+  private volatile Map<String, Set<ModuleRef>> modules = new ConcurrentHashMap<>();
+  private final Set<ModuleRef> changed = new HashSet<>();
+  private volatile boolean ready;
+  private boolean rebuild = true;
+  private boolean started;
+
+  TestModulesIndex() {
+    super("Индексация тестовых модулей"); //$NON-NLS-1$
+    setSystem(true);
+  }
+
+  /**
+   * Возвращает тестовые модули расширений с указанным именем.
+   * При первом обращении запускает построение индекса, а если построение было прервано - запускает его повторно.
+   *
+   * @param moduleName имя модуля
+   * @return найденные модули или {@code null}, если индекс еще не построен
+   */
+  List<CommonModule> find(String moduleName) {
+    ensureStarted();
+    if (!ready) {
+      rescheduleCanceledBuild();
+      return null;
+    }
+    var refs = modules.get(moduleName.toLowerCase());
+    if (refs == null || refs.isEmpty()) {
+      return Collections.emptyList();
+    }
+    var result = new ArrayList<CommonModule>(refs.size());
+    for (var ref : refs) {
+      var project = VendorServices.getProjectManager().getProject(ref.project);
+      if (project != null) {
+        Modules.findCommonModule(project, ref.module).ifPresent(result::add);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Отключает отслеживание изменений ресурсов и останавливает индексацию
+   */
+  synchronized void dispose() {
+    if (started) {
+      started = false;
+      ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+    }
+    cancel();
+    ready = false;
+    rebuild = true;
+    changed.clear();
+    modules = new ConcurrentHashMap<>();
+  }
+
+  private synchronized void rescheduleCanceledBuild() {
+    if (started && rebuild && getState() == NONE) {
+      schedule();
+    }
+  }
+
+  private synchronized void ensureStarted() {
+    if (!started) {
+      started = true;
+      ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+      schedule();
+    }
+  }
+
+  @Override
+  public void resourceChanged(IResourceChangeEvent event) {
+    var delta = event.getDelta();
+    if (delta == null) {
+      return;
+    }
+    var found = new HashSet<ModuleRef>();
+    var projectsChanged = new boolean[1];
+    try {
+      delta.accept(child -> {
+        var resource = child.getResource();
+        if (resource.getType() == IResource.PROJECT) {
+          if (child.getKind() != IResourceDelta.CHANGED || (child.getFlags() & IResourceDelta.OPEN) != 0) {
+            projectsChanged[0] = true;
+            return false;
+          }
+          return true;
+        }
+        var segments = resource.getProjectRelativePath().segments();
+        for (int i = 0; i < segments.length - 1; i++) {
+          if (COMMON_MODULES_FOLDER.equals(segments[i])) {
+            found.add(new ModuleRef(resource.getProject().getName(), segments[i + 1]));
+            return false;
+          }
+        }
+        return true;
+      });
+    } catch (CoreException e) {
+      TestViewerPlugin.log().logError(e);
+      projectsChanged[0] = true;
+    }
+    if (!projectsChanged[0] && found.isEmpty()) {
+      return;
+    }
+    synchronized (this) {
+      rebuild |= projectsChanged[0];
+      changed.addAll(found);
+    }
+    schedule();
+  }
+
+  @Override
+  protected IStatus run(IProgressMonitor monitor) {
+    boolean fullRebuild;
+    List<ModuleRef> toCheck;
+    synchronized (this) {
+      fullRebuild = rebuild;
+      rebuild = false;
+      toCheck = new ArrayList<>(changed);
+      changed.clear();
+    }
+    try {
+      if (fullRebuild) {
+        build(monitor);
+      } else {
+        toCheck.forEach(this::update);
+      }
+    } catch (RuntimeException e) {
+      TestViewerPlugin.log().logError("Ошибка индексации тестовых модулей", e);
+    }
+    return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+  }
+
+  private void build(IProgressMonitor monitor) {
+    var start = System.currentTimeMillis();
+    var index = new ConcurrentHashMap<String, Set<ModuleRef>>();
+    for (var extension : LaunchHelper.getTestExtensions()) {
+      if (monitor.isCanceled()) {
+        synchronized (this) {
+          rebuild = true;
+        }
+        return;
+      }
+      if (!Engine.isTestProject(extension)) {
+        continue;
+      }
+      var projectName = extension.getProject().getName();
+      LaunchHelper.getTestModulesStream(extension)
+          .forEach(module -> add(index, new ModuleRef(projectName, module.getName())));
+    }
+    modules = index;
+    ready = true;
+    TestViewerPlugin.log().debug("Индекс тестовых модулей построен за {0} мс", System.currentTimeMillis() - start);
+  }
+
+  private void update(ModuleRef ref) {
+    modules.computeIfPresent(ref.module.toLowerCase(), (key, refs) -> {
+      refs.remove(ref);
+      return refs.isEmpty() ? null : refs;
+    });
+    var project = getExtension(ref.project);
+    if (project == null || !Engine.isTestProject(project)) {
+      return;
+    }
+    Modules.findCommonModule(project, ref.module)
+        .filter(TestsManager::isTestModule)
+        .ifPresent(module -> add(modules, new ModuleRef(ref.project, module.getName())));
+  }
+
+  private static void add(Map<String, Set<ModuleRef>> index, ModuleRef ref) {
+    index.computeIfAbsent(ref.module.toLowerCase(), key -> ConcurrentHashMap.newKeySet()).add(ref);
+  }
+
+  private static IExtensionProject getExtension(String projectName) {
+    var v8Project = VendorServices.getProjectManager().getProject(projectName);
+    return v8Project instanceof IExtensionProject ? (IExtensionProject) v8Project : null;
+  }
+
+  @Value
+  private static class ModuleRef {
+    /**
+     * Имя проекта Eclipse
+     */
+    String project;
+    String module;
+  }
+}
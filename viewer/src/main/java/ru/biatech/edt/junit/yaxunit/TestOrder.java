@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.yaxunit;
+
+import com._1c.g5.v8.dt.core.platform.IExtensionProject;
+import com._1c.g5.v8.dt.core.platform.IV8Project;
+import com._1c.g5.v8.dt.metadata.mdclass.CommonModule;
+import lombok.experimental.UtilityClass;
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import ru.biatech.edt.junit.Preferences;
+import ru.biatech.edt.junit.TestViewerPlugin;
+import ru.biatech.edt.junit.launcher.v8.LaunchHelper;
+import ru.biatech.edt.junit.model.Session;
+import ru.biatech.edt.junit.model.SessionsManager;
+import ru.biatech.edt.junit.services.TestsManager;
+import ru.biatech.edt.junit.v8utils.Modules;
+import ru.biatech.edt.junit.v8utils.Projects;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Упорядочивает тесты запуска так, чтобы вероятные падения выполнялись первыми:
+ * <ol>
+ *   <li>тесты, упавшие в последних запусках;</li>
+ *   <li>тесты модулей, измененных после последнего успешного запуска;</li>
+ *   <li>остальные тесты в исходном порядке.</li>
+ * </ol>
+ * Используется история сессий {@link SessionsManager} и время изменения файлов модулей.
+ * Для запуска модуля или расширения целиком тесты перечисляются по модулям ({@link #orderModules(List, IExtensionProject)}).
+ */
+@UtilityClass
+public class TestOrder {
+
+  /**
+   * Количество последних сессий, упавшие тесты которых выполняются первыми
+   */
+  private final int RECENT_SESSIONS = 5;
+  private final String SOURCE_FOLDER = "src/CommonModules/"; //$NON-NLS-1$
+
+  private final int RANK_FAILED = 0;
+  private final int RANK_CHANGED = 1;
+  private final int RANK_OTHER = 2;
+
+  /**
+   * Упорядочивает тесты
+   *
+   * @param tests     полные имена тестов (Модуль.Метод) в порядке регистрации
+   * @param extension тестовое расширение или {@code null}, если тесты могут находиться в любом расширении
+   * @return упорядоченный список или исходный, если упорядочивание отключено или не требуется
+   */
+  public List<String> order(List<String> tests, IV8Project extension) {
+    if (tests == null || tests.size() < 2 || !Preferences.getOrderFailedFirst()) {
+      return tests;
+    }
+    var sessions = SessionsManager.getInstance().getSessions();
+    return order(tests, extension, recentlyFailed(sessions), lastGreenRun(sessions), new HashMap<>());
+  }
+
+  /**
+   * Перечисляет тесты модулей и упорядочивает их, если среди модулей есть модули с недавно упавшими тестами
+   * или измененные после последнего успешного запуска
+   *
+   * @param modules   имена тестовых модулей; пустой список - все тестовые модули расширения
+   * @param extension тестовое расширение или {@code null} - все тестовые расширения
+   * @return упорядоченные полные имена тестов или {@code null}, если порядок регистрации менять не требуется
+   */
+  public List<String> orderModules(List<String> modules, IExtensionProject extension) {
+    if (!Preferences.getOrderFailedFirst()) {
+      return null;
+    }
+    var sessions = SessionsManager.getInstance().getSessions();
+    var failed = recentlyFailed(sessions);
+    var lastGreen = lastGreenRun(sessions);
+    if (failed.isEmpty() && lastGreen == 0) {
+      return null;
+    }
+
+    var testModules = findTestModules(modules, extension);
+    var failedModules = failed.stream().map(TestOrder::moduleName).collect(Collectors.toSet());
+    var changed = new HashMap<String, Boolean>();
+    var prioritized = testModules.stream().anyMatch(module -> {
+      var name = module.getName();
+      return failedModules.contains(name.toLowerCase())
+          || lastGreen > 0 && changed.computeIfAbsent(name.toLowerCase(), m -> isChanged(name, extension, lastGreen));
+    });
+    if (!prioritized) {
+      return null;
+    }
+
+    var tests = new ArrayList<String>();
+    for (var module : testModules) {
+      var prefix = module.getName() + '.';
+      TestsManager.getTestMethods(module.getModule()).stream()
+          .filter(m -> !Engine.isRegistrationTestsMethod(m))
+          .map(m -> prefix + m.getName())
+          .forEach(tests::add);
+    }
+    return tests.size() < 2 ? null : order(tests, extension, failed, lastGreen, changed);
+  }
+
+  private List<String> order(List<String> tests, IV8Project extension, Set<String> failed, long lastGreen, Map<String, Boolean> changed) {
+    var ranks = new HashMap<String, Integer>(tests.size() * 2);
+    for (var test : tests) {
+      int rank;
+      if (failed.contains(test.toLowerCase())) {
+        rank = RANK_FAILED;
+      } else if (lastGreen > 0 && changed.computeIfAbsent(moduleName(test).toLowerCase(), m -> isChanged(moduleName(test), extension, lastGreen))) {
+        rank = RANK_CHANGED;
+      } else {
+        rank = RANK_OTHER;
+      }
+      ranks.put(test, rank);
+    }
+
+    var result = new ArrayList<>(tests);
+    result.sort(Comparator.comparingInt(ranks::get)); // сортировка устойчива, порядок внутри групп сохраняется
+    if (TestViewerPlugin.log().isDebugEnabled()) {
+      TestViewerPlugin.log().debug("Порядок тестов: упавших {0}, измененных модулей {1}, всего {2}",
+          ranks.values().stream().filter(r -> r == RANK_FAILED).count(),
+          ranks.values().stream().filter(r -> r == RANK_CHANGED).count(),
+          tests.size());
+    }
+    return result;
+  }
+
+  /**
+   * Возвращает модуль теста
+   *
+   * @param test полное имя теста
+   * @return имя модуля
+   */
+  public String moduleName(String test) {
+    var index = test.indexOf('.');
+    return index < 0 ? test : test.substring(0, index);
+  }
+
+  private List<CommonModule> findTestModules(List<String> modules, IExtensionProject extension) {
+    List<IExtensionProject> extensions = extension == null ? LaunchHelper.getTestExtensions() : List.of(extension);
+    var result = new ArrayList<CommonModule>();
+    for (var project : extensions) {
+      if (modules.isEmpty()) {
+        LaunchHelper.getTestModulesStream(project).forEach(result::add);
+      } else {
+        modules.forEach(name -> Modules.findCommonModule(project, name).ifPresent(result::add));
+      }
+    }
+    return result;
+  }
+
+  private Set<String> recentlyFailed(List<Session> sessions) {
+    var result = new HashSet<String>();
+    int count = 0;
+    for (var session : sessions) {
+      if (session.isRunning()) {
+        continue;
+      }
+      if (count++ >= RECENT_SESSIONS) {
+        break;
+      }
+      // Имена упавших тестов выгруженных сессий берутся из сводки истории, результаты не загружаются
+      if (session.getErrorCount() + session.getFailureCount() > 0) {
+        session.getAllFailedTestNames().forEach(name -> result.add(name.toLowerCase()));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return время начала последнего успешного запуска или 0, если такого нет
+   */
+  private long lastGreenRun(List<Session> sessions) {
+    for (var session : sessions) {
+      if (!session.isRunning() && !session.isStopped() && session.getTotalCount() > 0
+          && session.getErrorCount() + session.getFailureCount() == 0) {
+        return session.getStartTime();
+      }
+    }
+    return 0;
+  }
+
+  private boolean isChanged(String module, IV8Project extension, long since) {
+    Collection<? extends IV8Project> projects = extension == null ? Projects.getExtensions() : List.of(extension);
+    for (var project : projects) {
+      var folder = project.getProject().getFolder(SOURCE_FOLDER + module);
+      if (folder.exists() && lastModified(folder) > since) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private long lastModified(IContainer folder) {
+    long result = IResource.NULL_STAMP;
+    try {
+      for (var member : folder.members()) {
+        result = Math.max(result, member instanceof IContainer ? lastModified((IContainer) member) : member.getLocalTimeStamp());
+      }
+    } catch (CoreException e) {
+      TestViewerPlugin.log().logError(e);
+    }
+    return result;
+  }
+}
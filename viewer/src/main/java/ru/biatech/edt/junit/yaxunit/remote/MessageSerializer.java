@@ -20,14 +20,80 @@ import lombok.SneakyThrows;
 import ru.biatech.edt.junit.Serializer;
 import ru.biatech.edt.junit.yaxunit.remote.dto.Message;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
 public class MessageSerializer {
+  private static final int GZIP_MAGIC_FIRST_BYTE = 0x1f;
+
   @SneakyThrows
   public Message<?> readMessage(String message) {
     return Serializer.getJsonMapper().readValue(message, Message.class);
   }
 
+  /**
+   * Читает сообщение из бинарного кадра. Кадр содержит JSON, сжатый gzip, или несжатый JSON в UTF-8
+   *
+   * @param message содержимое кадра
+   * @return сообщение
+   */
+  @SneakyThrows
+  public Message<?> readMessage(ByteBuffer message) {
+    var source = new PushbackInputStream(new ByteBufferInputStream(message), 1);
+    var first = source.read();
+    if (first != -1) {
+      source.unread(first);
+    }
+    InputStream stream = first == GZIP_MAGIC_FIRST_BYTE ? new GZIPInputStream(source) : source;
+    try (stream) {
+      return Serializer.getJsonMapper().readValue(stream, Message.class);
+    }
+  }
+
   @SneakyThrows
   public String writeMessage(Message<?> message) {
     return Serializer.getJsonMapper().writeValueAsString(message);
   }
+
+  /**
+   * Сериализует сообщение в JSON, сжатый gzip
+   *
+   * @param message сообщение
+   * @return содержимое бинарного кадра
+   */
+  @SneakyThrows
+  public byte[] writeCompressedMessage(Message<?> message) {
+    var buffer = new ByteArrayOutputStream();
+    try (var stream = new GZIPOutputStream(buffer)) {
+      Serializer.getJsonMapper().writeValue(stream, message);
+    }
+    return buffer.toByteArray();
+  }
+
+  private static class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      var count = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, count);
+      return count;
+    }
+  }
 }
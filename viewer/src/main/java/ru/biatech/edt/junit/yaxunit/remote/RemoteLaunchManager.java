@@ -20,6 +20,7 @@ import lombok.Getter;
 import lombok.experimental.UtilityClass;
 import ru.biatech.edt.junit.model.TestSuiteElement;
 import ru.biatech.edt.junit.yaxunit.LaunchSettings;
+import ru.biatech.edt.junit.yaxunit.remote.dto.ModuleContent;
 
 import java.util.List;
 import java.util.UUID;
@@ -44,8 +45,15 @@ public class RemoteLaunchManager {
     }
   }
 
-  public CompletableFuture<TestSuiteElement[]> launchTest(String module, String moduleName, List<String> methods, boolean server, boolean client, boolean ordinaryClient) throws ClientNotFound{
-    return launcher.launchTest(module, moduleName, methods, server, client, ordinaryClient);
+  public CompletableFuture<TestSuiteElement[]> launchTest(List<ModuleContent> modules, RemoteRunListener listener) throws ClientNotFound{
+    return launcher.launchTest(modules, listener);
+  }
+
+  /**
+   * Возвращает количество подключенных клиентов, между которыми может быть распределен запуск
+   */
+  public int getClientsCount() {
+    return launcher == null ? 0 : launcher.getClientsCount();
   }
 
   public boolean isAvailable() {
@@ -17,6 +17,7 @@
 package ru.biatech.edt.junit.yaxunit.remote;
 
 import ru.biatech.edt.junit.model.TestSuiteElement;
+import ru.biatech.edt.junit.yaxunit.remote.dto.ModuleContent;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -25,7 +26,8 @@ public interface RemoteLauncher {
   void start();
   void stop();
 
-  CompletableFuture<TestSuiteElement[]> launchTest(String module, String moduleName, List<String> method, boolean server, boolean client, boolean ordinaryClient) throws ClientNotFound;
+  CompletableFuture<TestSuiteElement[]> launchTest(List<ModuleContent> modules, RemoteRunListener listener) throws ClientNotFound;
   int getPort();
+  int getClientsCount();
   boolean isAvailable();
 }
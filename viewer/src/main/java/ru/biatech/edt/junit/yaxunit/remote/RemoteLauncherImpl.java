@@ -16,33 +16,93 @@
 
 package ru.biatech.edt.junit.yaxunit.remote;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.Value;
 import org.java_websocket.WebSocket;
+import ru.biatech.edt.junit.Preferences;
 import ru.biatech.edt.junit.TestViewerPlugin;
+import ru.biatech.edt.junit.diagnostics.Metrics;
 import ru.biatech.edt.junit.model.SessionsManager;
+import ru.biatech.edt.junit.model.TestCaseElement;
 import ru.biatech.edt.junit.model.TestSuiteElement;
+import ru.biatech.edt.junit.model.report.ErrorInfo;
+import ru.biatech.edt.junit.yaxunit.remote.dto.CancelMessage;
 import ru.biatech.edt.junit.yaxunit.remote.dto.HelloMessage;
 import ru.biatech.edt.junit.yaxunit.remote.dto.Message;
+import ru.biatech.edt.junit.yaxunit.remote.dto.ModuleContent;
+import ru.biatech.edt.junit.yaxunit.remote.dto.ProtocolVersion;
 import ru.biatech.edt.junit.yaxunit.remote.dto.ReportFileMessage;
 import ru.biatech.edt.junit.yaxunit.remote.dto.ReportMessage;
+import ru.biatech.edt.junit.yaxunit.remote.dto.RunFinishedMessage;
 import ru.biatech.edt.junit.yaxunit.remote.dto.RunMessage;
+import ru.biatech.edt.junit.yaxunit.remote.dto.SuiteStartedMessage;
+import ru.biatech.edt.junit.yaxunit.remote.dto.TestFinishedMessage;
+import ru.biatech.edt.junit.yaxunit.remote.dto.TestStartedMessage;
 
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public class RemoteLauncherImpl implements RemoteLauncher, Handler, AutoCloseable {
-  private final Map<WebSocket, ClientInfo> clients = new HashMap<>();
-  private final Map<String, ClientInfo> clientsByKey = new HashMap<>();
-  private final AtomicBoolean available = new AtomicBoolean(false);
+  private static final String SERVER_CONTEXT = "server";
+  private static final String CLIENT_CONTEXT = "client";
+  private static final String ORDINARY_CLIENT_CONTEXT = "ordinaryClient";
+  /**
+   * Период проверки зависших запусков, в секундах
+   */
+  private static final long WATCHDOG_PERIOD = 5;
+
+  /*
+   * Реестры изменяются из потоков веб-сокета (подключение, сообщения, отключение) и из заданий запуска.
+   * Запуск принадлежит тому потоку, которому удалось удалить его из реестра, поэтому результат
+   * устанавливается ровно один раз: отчетом, завершением, отключением клиента или остановкой сервера.
+   */
+  private final Map<WebSocket, ClientInfo> clients = new ConcurrentHashMap<>();
+  private final Map<String, ClientInfo> clientsByKey = new ConcurrentHashMap<>();
   private final AtomicInteger lastMessageId = new AtomicInteger(0);
-  private WebSocketServer server;
+  private volatile WebSocketServer server;
+
+  private final Map<String, RemoteRun> runs = new ConcurrentHashMap<>();
+  private ScheduledExecutorService watchdog;
+  private final IntSupplier maxRunsPerClient;
+
+  public RemoteLauncherImpl() {
+    maxRunsPerClient = Preferences::getRemoteMaxRunsPerClient;
+  }
 
-  private final Map<String, CompletableFuture<TestSuiteElement[]>> runs = new HashMap<>();
+  /**
+   * Создает запускатель с переданным, но не запущенным сервером. Используется в тестах:
+   * сообщения отправляются в соединения клиентов без запуска сервера и проверки зависших запусков
+   *
+   * @param server           сервер, через который отправляются сообщения
+   * @param maxRunsPerClient максимальное количество одновременных запусков на клиенте
+   */
+  RemoteLauncherImpl(WebSocketServer server, int maxRunsPerClient) {
+    this.server = server;
+    this.maxRunsPerClient = () -> maxRunsPerClient;
+  }
 
   @Override
   @SneakyThrows
@@ -52,32 +112,150 @@ public class RemoteLauncherImpl implements RemoteLauncher, Handler, AutoCloseabl
     while (!server.isStarted()) {
       Thread.sleep(100);
     }
-    System.out.println("Remote launcher start on " + server.getPort());
+    watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+      var thread = new Thread(r, "Remote test runs watchdog"); //$NON-NLS-1$
+      thread.setDaemon(true);
+      return thread;
+    });
+    watchdog.scheduleWithFixedDelay(this::checkTimeouts, WATCHDOG_PERIOD, WATCHDOG_PERIOD, TimeUnit.SECONDS);
+    TestViewerPlugin.log().debug("Remote launcher start on {0}", server.getPort());
   }
 
   @SneakyThrows
   @Override
   public void stop() {
+    var current = server;
+    server = null;
+    if (watchdog != null) {
+      watchdog.shutdownNow();
+      watchdog = null;
+    }
     clients.clear();
     clientsByKey.clear();
-    if (server != null) {
-      server.stop();
+    failRuns(run -> true, "Сервер удаленного запуска остановлен");
+    if (current != null) {
+      current.stop();
     }
-    server = null;
   }
 
   @Override
   public int getPort() {
-    return server != null ? server.getPort() : 0;
+    var current = server;
+    return current != null ? current.getPort() : 0;
   }
 
   @Override
-  public CompletableFuture<TestSuiteElement[]> launchTest(String module, String moduleName, List<String> methods, boolean isServer, boolean isClient, boolean isOrdinaryClient) throws ClientNotFound {
+  public CompletableFuture<TestSuiteElement[]> launchTest(List<ModuleContent> modules, RemoteRunListener listener) throws ClientNotFound {
     if (clientsByKey.isEmpty()) {
       throw new ClientNotFound("Нет подключенных клиентов");
     }
-    var clientKey = clientsByKey.keySet().stream().findFirst().get();
-    return launchTest(clientKey, module, moduleName, methods, isServer, isClient, isOrdinaryClient);
+    // Свободные клиенты первыми, чтобы запуск не ждал в очереди занятого клиента
+    var candidates = clients.values().stream()
+        .filter(c -> modules.stream().allMatch(m -> c.supports(m.isServer(), m.isClient(), m.isOrdinaryClient())))
+        .sorted(Comparator.comparingInt(ClientInfo::getInFlight))
+        .map(ClientInfo::getKey)
+        .collect(Collectors.toList());
+    if (candidates.isEmpty()) {
+      throw new ClientNotFound(modules.stream().map(ModuleContent::getModuleName).collect(Collectors.joining(", ")));
+    }
+
+    var methodModules = new HashMap<String, ModuleContent>();
+    var methods = new ArrayList<String>();
+    for (var module : modules) {
+      if (module.getMethods() == null || module.getMethods().isEmpty()) {
+        // Модуль выполняется целиком, разделить запуск нельзя
+        methods.clear();
+        break;
+      }
+      module.getMethods().forEach(m -> methodModules.put(m, module));
+      methods.addAll(module.getMethods());
+    }
+
+    var shards = ShardScheduler.split(methods, candidates.size());
+    if (shards.size() == 1) {
+      return launchTest(candidates.get(0), modules, listener, null);
+    }
+
+    TestViewerPlugin.log().debug("Запуск тестов распределен между {0} клиентами", shards.size());
+    var sharedSuites = new HashMap<String, TestSuiteElement>();
+    var sources = new ArrayList<CompletableFuture<TestSuiteElement[]>>(shards.size());
+    for (int i = 0; i < shards.size(); i++) {
+      sources.add(launchTest(candidates.get(i), group(shards.get(i), methodModules), listener, sharedSuites));
+    }
+    return combine(sources);
+  }
+
+  /**
+   * Собирает модули части запуска, в каждый модуль попадают только тесты этой части
+   */
+  private static List<ModuleContent> group(List<String> shard, Map<String, ModuleContent> methodModules) {
+    var grouped = new LinkedHashMap<ModuleContent, List<String>>();
+    shard.forEach(method -> grouped.computeIfAbsent(methodModules.get(method), k -> new ArrayList<>()).add(method));
+    return grouped.entrySet().stream()
+        .map(e -> e.getKey().withMethods(e.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Объединяет результаты частей запуска. Ошибка части не отменяет результаты остальных и попадает в результат
+   * отдельным набором с ошибкой, чтобы запуск не выглядел успешным. Если ошибкой завершились все части,
+   * ошибкой завершается и итоговый результат. Отмена итогового результата отменяет все части
+   */
+  private static CompletableFuture<TestSuiteElement[]> combine(List<CompletableFuture<TestSuiteElement[]>> sources) {
+    var failures = new AtomicInteger();
+    var firstError = new AtomicReference<Throwable>();
+    var futures = new ArrayList<CompletableFuture<TestSuiteElement[]>>(sources.size());
+    for (int i = 0; i < sources.size(); i++) {
+      var part = i + 1;
+      futures.add(sources.get(i).exceptionally(e -> {
+        var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof CancellationException) {
+          return new TestSuiteElement[0];
+        }
+        TestViewerPlugin.log().logError("Ошибка выполнения части запуска", cause);
+        firstError.compareAndSet(null, cause);
+        failures.incrementAndGet();
+        return new TestSuiteElement[]{failureSuite(part, cause)};
+      }));
+    }
+    var result = CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+        .thenApply(v -> {
+          if (failures.get() == sources.size()) {
+            throw new CompletionException(firstError.get());
+          }
+          return ShardScheduler.merge(futures.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+        });
+    result.whenComplete((suites, error) -> {
+      if (error instanceof CancellationException) {
+        sources.forEach(source -> source.cancel(false));
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Набор с ошибкой, отмечающий в результатах часть запуска, которая не была выполнена
+   */
+  private static TestSuiteElement failureSuite(int part, Throwable cause) {
+    var error = new ErrorInfo();
+    error.setMessage(cause.getMessage() == null ? cause.toString() : cause.getMessage());
+    error.setType(cause.getClass().getSimpleName());
+
+    var test = new TestCaseElement();
+    test.setName(MessageFormat.format("Часть запуска {0}", part));
+    test.setError(new ErrorInfo[]{error});
+
+    var suite = new TestSuiteElement();
+    suite.setName("Ошибки выполнения запуска");
+    suite.setTests(1);
+    suite.setErrors(1);
+    suite.setTestcase(new TestCaseElement[]{test});
+    return suite;
+  }
+
+  @Override
+  public int getClientsCount() {
+    return clientsByKey.size();
   }
 
   @Override
@@ -85,7 +263,15 @@ public class RemoteLauncherImpl implements RemoteLauncher, Handler, AutoCloseabl
     if (message instanceof HelloMessage) {
       handleHandshake(socket, (HelloMessage) message);
     } else if (message instanceof ReportMessage) {
-      handleReport((ReportMessage) message);
+      handleReport(socket, (ReportMessage) message);
+    } else if (message instanceof SuiteStartedMessage) {
+      withRun(socket, message, run -> run.onSuiteStarted(((SuiteStartedMessage) message).getData()));
+    } else if (message instanceof TestStartedMessage) {
+      withRun(socket, message, run -> run.onTestStarted(((TestStartedMessage) message).getData()));
+    } else if (message instanceof TestFinishedMessage) {
+      withRun(socket, message, run -> run.onTestFinished(((TestFinishedMessage) message).getData()));
+    } else if (message instanceof RunFinishedMessage) {
+      handleRunFinished(socket, (RunFinishedMessage) message);
     } else if (message instanceof ReportFileMessage) {
       handleReportFile((ReportFileMessage) message);
     }
@@ -95,78 +281,264 @@ public class RemoteLauncherImpl implements RemoteLauncher, Handler, AutoCloseabl
     SessionsManager.getInstance().importActiveSession(message.getData().getReportFile());
   }
 
-  private void handleReport(ReportMessage message) {
-    var runKey = runKey(clientKey(), message.getId());
-    var future = runs.getOrDefault(runKey, null);
-    if (future == null) {
+  private void handleReport(WebSocket socket, ReportMessage message) {
+    var run = runs.remove(runKey(socket, message.getId()));
+    if (run == null) {
       TestViewerPlugin.log().logError("Получен отчет о тестировании, но не обнаружен запуск");
       return;
     }
-    runs.remove(runKey);
-    future.complete(message.getData());
+    run.getFuture().complete(message.getData());
+  }
+
+  private void handleRunFinished(WebSocket socket, RunFinishedMessage message) {
+    var run = runs.remove(runKey(socket, message.getId()));
+    if (run == null) {
+      TestViewerPlugin.log().logError("Получено завершение тестирования, но не обнаружен запуск");
+      return;
+    }
+    var error = message.getData() == null ? null : message.getData().getError();
+    if (error != null) {
+      TestViewerPlugin.log().warning("Запуск {0} прерван клиентом: {1}", message.getId(), error);
+    }
+    run.complete();
+  }
+
+  private void withRun(WebSocket socket, Message<?> message, Consumer<RemoteRun> action) {
+    var run = runs.get(runKey(socket, message.getId()));
+    if (run == null) {
+      TestViewerPlugin.log().warning("Получено сообщение {0} для неизвестного запуска {1}", message.getType(), message.getId());
+      return;
+    }
+    action.accept(run);
   }
 
   @SneakyThrows
   private void handleHandshake(WebSocket socket, HelloMessage message) {
-    var client = new ClientInfo(message.getData().getKey(), message.getData().getProtocolVersion(), socket);
+    var client = new ClientInfo(message.getData().getKey(), message.getData().getProtocolVersion(), message.getData().getContexts(), socket);
     addClient(client);
   }
 
   @Override
   public void onClientDisconnect(WebSocket socket) {
-    var client = clients.getOrDefault(socket, null);
+    if (socket == null) {
+      return;
+    }
+    var client = clients.get(socket);
     if (client != null) {
       removeClient(client);
     }
   }
 
-  private CompletableFuture<TestSuiteElement[]> launchTest(String clientKey, String module, String moduleName, List<String> methods, boolean isServer, boolean isClient, boolean isOrdinaryClient) throws ClientNotFound {
-
-    var client = clientsByKey.getOrDefault(clientKey, null);
+  private CompletableFuture<TestSuiteElement[]> launchTest(String clientKey, List<ModuleContent> modules, RemoteRunListener listener, Map<String, TestSuiteElement> sharedSuites) throws ClientNotFound {
+    var client = clientsByKey.get(clientKey);
     if (client == null) {
       throw new ClientNotFound(clientKey);
     }
-    var message = RunMessage.builder()
-        .module(module)
-        .moduleName(moduleName)
-        .methods(methods)
-        .client(isClient)
-        .server(isServer)
-        .ordinaryClient(isOrdinaryClient)
+    var protocolVersion = ProtocolVersion.negotiate(client.getProtocolVersion());
+    if (modules.size() > 1 && ProtocolVersion.supports(protocolVersion, ProtocolVersion.MODULES)) {
+      var message = RunMessage.builder()
+          .modules(modules)
+          .protocolVersion(protocolVersion)
+          .build();
+      return launchRun(client, message, listener, sharedSuites);
+    }
+    if (modules.size() == 1) {
+      return launchRun(client, newRunMessage(modules.get(0), protocolVersion), listener, sharedSuites);
+    }
+
+    // Клиент принимает один модуль в запуске, модули выполняются по очереди без перезапуска клиента
+    var suites = sharedSuites == null ? new HashMap<String, TestSuiteElement>() : sharedSuites;
+    var sources = new ArrayList<CompletableFuture<TestSuiteElement[]>>(modules.size());
+    for (var module : modules) {
+      sources.add(launchRun(client, newRunMessage(module, protocolVersion), listener, suites));
+    }
+    return combine(sources);
+  }
+
+  private static RunMessage newRunMessage(ModuleContent module, String protocolVersion) {
+    return RunMessage.builder()
+        .module(module.getModule())
+        .moduleName(module.getModuleName())
+        .methods(module.getMethods())
+        .client(module.isClient())
+        .server(module.isServer())
+        .ordinaryClient(module.isOrdinaryClient())
+        .protocolVersion(protocolVersion)
         .build();
-    setMessageId(message);
+  }
 
+  private CompletableFuture<TestSuiteElement[]> launchRun(ClientInfo client, RunMessage message, RemoteRunListener listener, Map<String, TestSuiteElement> sharedSuites) {
+    var clientKey = client.getKey();
+    setMessageId(message);
 
     if (!client.socket.isOpen()) {
       removeClient(client);
       return CompletableFuture.failedFuture(new Exception("Web socket is closed"));
     }
-    server.send(client.socket, message);
+    var run = sharedSuites == null
+        ? new RemoteRun(message.getId(), client.socket, listener)
+        : new RemoteRun(message.getId(), client.socket, listener, sharedSuites);
     var runKey = runKey(clientKey, message.getId());
-    var future = new CompletableFuture<TestSuiteElement[]>();
-    runs.put(runKey, future);
-    return future;
+    runs.put(runKey, run);
+    run.getFuture().whenComplete((suites, error) -> onRunCompleted(client, runKey, run, error));
+    if (clients.get(client.socket) != client) {
+      // Клиент отключился во время регистрации запуска
+      if (runs.remove(runKey, run)) {
+        run.fail(new ClientNotFound(clientKey));
+      }
+      return run.getFuture();
+    }
+    dispatch(client, run, message);
+    return run.getFuture();
+  }
+
+  /**
+   * Отправляет запуск клиенту или ставит его в очередь, если клиент уже выполняет максимум запусков
+   */
+  private void dispatch(ClientInfo client, RemoteRun run, RunMessage message) {
+    synchronized (client) {
+      if (client.inFlight >= maxRunsPerClient.getAsInt()) {
+        TestViewerPlugin.log().debug("Запуск {0} ожидает в очереди клиента {1}", run.getId(), client.key);
+        client.pending.add(new PendingRun(run, message));
+        return;
+      }
+      client.inFlight++;
+      run.markSent(isStreaming(message));
+    }
+    send(client, run, message);
+  }
+
+  /**
+   * Освобождает место запуска и отправляет следующий запуск из очереди клиента
+   */
+  private void release(ClientInfo client) {
+    PendingRun next;
+    synchronized (client) {
+      do {
+        next = client.pending.poll();
+      } while (next != null && next.run.getFuture().isDone());
+      if (next == null) {
+        client.inFlight--;
+        return;
+      }
+      next.run.markSent(isStreaming(next.message));
+    }
+    send(client, next.run, next.message);
+  }
+
+  private void send(ClientInfo client, RemoteRun run, RunMessage message) {
+    var current = server;
+    try {
+      if (current == null) {
+        throw new IllegalStateException("Сервер удаленного запуска остановлен");
+      }
+      current.send(client.socket, message, ProtocolVersion.supports(message.getData().getProtocolVersion(), ProtocolVersion.COMPRESSED));
+    } catch (RuntimeException e) {
+      if (runs.remove(runKey(client.key, run.getId()), run)) {
+        run.fail(e);
+      }
+    }
+  }
+
+  private void onRunCompleted(ClientInfo client, String runKey, RemoteRun run, Throwable error) {
+    var sentAt = run.getSentAt();
+    if (sentAt != 0) {
+      Metrics.record("remote.run", sentAt, System.currentTimeMillis() - sentAt, client.key);
+    }
+    Metrics.count(error == null ? "remote.run.completed" : "remote.run.failed");
+    if (error instanceof CancellationException && runs.remove(runKey, run) && run.getSentAt() != 0) {
+      sendCancel(run, "Запуск отменен пользователем");
+    }
+    synchronized (client) {
+      if (run.getSentAt() == 0) {
+        client.pending.removeIf(pending -> pending.run == run);
+        return;
+      }
+    }
+    release(client);
+  }
+
+  private void sendCancel(RemoteRun run, String reason) {
+    var current = server;
+    if (current == null || !run.getSocket().isOpen()) {
+      return;
+    }
+    try {
+      current.send(run.getSocket(), new CancelMessage(run.getId(), reason));
+    } catch (RuntimeException e) {
+      TestViewerPlugin.log().logError("Не удалось отправить клиенту отмену запуска " + run.getId(), e);
+    }
+  }
+
+  /**
+   * Прерывает запуски, превысившие допустимое время выполнения или долго не присылающие событий
+   */
+  private void checkTimeouts() {
+    var now = System.currentTimeMillis();
+    var runTimeout = TimeUnit.SECONDS.toMillis(Preferences.getRemoteRunTimeout());
+    var testTimeout = TimeUnit.SECONDS.toMillis(Preferences.getRemoteTestTimeout());
+    for (var entry : runs.entrySet()) {
+      var run = entry.getValue();
+      if (run.getSentAt() == 0) {
+        continue;
+      }
+      String reason = null;
+      if (runTimeout > 0 && now - run.getSentAt() > runTimeout) {
+        reason = MessageFormat.format("Превышено время выполнения запуска ({0} с)", Preferences.getRemoteRunTimeout());
+      } else if (testTimeout > 0 && run.isStreaming() && now - run.getLastActivity() > testTimeout) {
+        reason = MessageFormat.format("Нет событий от клиента более {0} с", Preferences.getRemoteTestTimeout());
+      }
+      if (reason != null && runs.remove(entry.getKey(), run)) {
+        TestViewerPlugin.log().warning("Запуск {0} прерван: {1}", entry.getKey(), reason);
+        sendCancel(run, reason);
+        run.fail(new TimeoutException(reason));
+      }
+    }
+  }
+
+  private static boolean isStreaming(RunMessage message) {
+    return ProtocolVersion.supports(message.getData().getProtocolVersion(), ProtocolVersion.EVENTS);
   }
 
   private void setMessageId(Message<?> message) {
     message.setId(lastMessageId.getAndIncrement());
   }
 
-  synchronized private void addClient(ClientInfo client) {
+  private void addClient(ClientInfo client) {
     clients.put(client.socket, client);
-    clientsByKey.put(client.getKey(), client);
-    available.weakCompareAndSetPlain(false, true);
+    var previous = clientsByKey.put(client.getKey(), client);
+    if (previous != null && previous.socket != client.socket) {
+      // Клиент переподключился, запуски старого соединения уже не завершатся
+      clients.remove(previous.socket, previous);
+      failRuns(run -> run.getSocket() == previous.socket, "Клиент " + previous.key + " переподключился");
+    }
   }
 
-  synchronized private void removeClient(ClientInfo client) {
-    clients.remove(client.socket);
-    clientsByKey.remove(client.key);
-    var empty = clients.isEmpty();
-    available.weakCompareAndSetPlain(empty, !empty);
+  private void removeClient(ClientInfo client) {
+    clients.remove(client.socket, client);
+    clientsByKey.remove(client.key, client);
+    failRuns(run -> run.getSocket() == client.socket, "Клиент " + client.key + " отключился");
+  }
+
+  private void failRuns(Predicate<RemoteRun> filter, String reason) {
+    for (var entry : runs.entrySet()) {
+      var run = entry.getValue();
+      if (filter.test(run) && runs.remove(entry.getKey(), run)) {
+        TestViewerPlugin.log().warning("Запуск {0} прерван: {1}", entry.getKey(), reason);
+        run.fail(new IllegalStateException(reason));
+      }
+    }
   }
 
   public boolean isAvailable() {
-    return available.get();
+    return !clients.isEmpty();
+  }
+
+  /**
+   * @return количество зарегистрированных незавершенных запусков
+   */
+  int getActiveRunsCount() {
+    return runs.size();
   }
 
   @Override
@@ -174,15 +546,41 @@ public class RemoteLauncherImpl implements RemoteLauncher, Handler, AutoCloseabl
     stop();
   }
 
-  @Value
+  @RequiredArgsConstructor
+  @Getter
   private static class ClientInfo {
-    String key;
-    String protocolVersion;
-    WebSocket socket;
+    final String key;
+    final String protocolVersion;
+    final List<String> contexts;
+    final WebSocket socket;
+    /**
+     * Количество отправленных и незавершенных запусков, изменяется под блокировкой клиента
+     */
+    volatile int inFlight;
+    /**
+     * Запуски, ожидающие отправки, изменяется под блокировкой клиента
+     */
+    final Queue<PendingRun> pending = new ArrayDeque<>();
+
+    boolean supports(boolean isServer, boolean isClient, boolean isOrdinaryClient) {
+      if (contexts == null || !(isServer || isClient || isOrdinaryClient)) {
+        return true;
+      }
+      return isServer && contexts.contains(SERVER_CONTEXT)
+          || isClient && contexts.contains(CLIENT_CONTEXT)
+          || isOrdinaryClient && contexts.contains(ORDINARY_CLIENT_CONTEXT);
+    }
+  }
+
+  @Value
+  private static class PendingRun {
+    RemoteRun run;
+    RunMessage message;
   }
 
-  String clientKey() {
-    return clientsByKey.keySet().stream().findFirst().orElse(null);
+  private String runKey(WebSocket socket, int operationId) {
+    var client = clients.get(socket);
+    return runKey(client == null ? null : client.getKey(), operationId);
   }
 
   private String runKey(String clientKey, int operationId) {
@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.yaxunit.remote;
+
+import lombok.Getter;
+import org.java_websocket.WebSocket;
+import ru.biatech.edt.junit.TestViewerPlugin;
+import ru.biatech.edt.junit.model.TestCaseElement;
+import ru.biatech.edt.junit.model.TestSuiteElement;
+import ru.biatech.edt.junit.yaxunit.remote.dto.SuiteStartedMessage;
+import ru.biatech.edt.junit.yaxunit.remote.dto.TestFinishedMessage;
+import ru.biatech.edt.junit.yaxunit.remote.dto.TestStartedMessage;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Состояние запуска тестов на удаленном клиенте.
+ * Собирает результаты из потока событий протокола {@link ru.biatech.edt.junit.yaxunit.remote.dto.ProtocolVersion#EVENTS}.
+ * <p>
+ * Части одного запуска, выполняемые на разных клиентах, используют общий реестр наборов,
+ * поэтому одноименные наборы разных частей собираются в один.
+ */
+class RemoteRun {
+  @Getter
+  private final CompletableFuture<TestSuiteElement[]> future = new CompletableFuture<>();
+  /**
+   * Идентификатор сообщения запуска
+   */
+  @Getter
+  private final int id;
+  /**
+   * Соединение клиента, выполняющего запуск
+   */
+  @Getter
+  private final WebSocket socket;
+  private final RemoteRunListener listener;
+  private final Map<String, TestSuiteElement> sharedSuites;
+  private final Map<String, TestSuiteElement> suites = new LinkedHashMap<>();
+  private final Map<String, TestCaseElement> runningTests = new HashMap<>();
+  /**
+   * Момент отправки запуска клиенту, 0 - запуск ожидает в очереди
+   */
+  @Getter
+  private volatile long sentAt;
+  /**
+   * Момент последнего события от клиента
+   */
+  @Getter
+  private volatile long lastActivity;
+  /**
+   * Клиент передает результаты по мере выполнения тестов
+   */
+  @Getter
+  private volatile boolean streaming;
+
+  RemoteRun(int id, WebSocket socket, RemoteRunListener listener) {
+    this(id, socket, listener, new HashMap<>());
+  }
+
+  /**
+   * @param id           идентификатор сообщения запуска
+   * @param socket       соединение клиента, выполняющего запуск
+   * @param listener     получатель результатов
+   * @param sharedSuites реестр наборов, общий для всех частей запуска
+   */
+  RemoteRun(int id, WebSocket socket, RemoteRunListener listener, Map<String, TestSuiteElement> sharedSuites) {
+    this.id = id;
+    this.socket = socket;
+    this.listener = listener;
+    this.sharedSuites = sharedSuites;
+  }
+
+  /**
+   * Отмечает отправку запуска клиенту
+   *
+   * @param streaming клиент будет передавать результаты по мере выполнения тестов
+   */
+  void markSent(boolean streaming) {
+    this.streaming = streaming;
+    lastActivity = sentAt = System.currentTimeMillis();
+  }
+
+  void onSuiteStarted(SuiteStartedMessage.Params params) {
+    lastActivity = System.currentTimeMillis();
+    if (params == null || params.getName() == null) {
+      dropMessage("начало набора без имени");
+      return;
+    }
+    synchronized (sharedSuites) {
+      var key = suiteKey(params.getName(), params.getContext());
+      var suite = sharedSuites.get(key);
+      if (suite != null) {
+        // Набор уже начат другой частью запуска
+        suite.setTests(suite.getTests() + params.getTests());
+        suites.put(key, suite);
+        return;
+      }
+      suite = new TestSuiteElement();
+      suite.setName(params.getName());
+      suite.setClassName(params.getClassName());
+      suite.setContext(params.getContext());
+      suite.setTests(params.getTests());
+      sharedSuites.put(key, suite);
+      suites.put(key, suite);
+      listener.suiteStarted(suite);
+    }
+  }
+
+  void onTestStarted(TestStartedMessage.Params params) {
+    lastActivity = System.currentTimeMillis();
+    if (params == null || params.getSuite() == null || params.getName() == null) {
+      dropMessage("начало теста без имени теста или набора");
+      return;
+    }
+    synchronized (sharedSuites) {
+      var suite = getSuite(params.getSuite(), params.getContext());
+      var test = new TestCaseElement();
+      test.setName(params.getName());
+      test.setClassName(params.getClassName());
+      test.setContext(params.getContext());
+      runningTests.put(testKey(suite, params.getName()), test);
+      listener.testStarted(suite, test);
+    }
+  }
+
+  void onTestFinished(TestFinishedMessage.Params params) {
+    lastActivity = System.currentTimeMillis();
+    if (params == null || params.getSuite() == null || params.getTest() == null || params.getTest().getName() == null) {
+      dropMessage("результат теста без имени теста или набора");
+      return;
+    }
+    synchronized (sharedSuites) {
+      var result = params.getTest();
+      var suite = getSuite(params.getSuite(), params.getContext());
+      var test = runningTests.remove(testKey(suite, result.getName()));
+      if (test == null) {
+        // Клиент не сообщил о начале теста
+        test = result;
+        listener.testStarted(suite, test);
+      } else {
+        copyResult(result, test);
+      }
+      listener.testFinished(suite, test);
+    }
+  }
+
+  void complete() {
+    synchronized (sharedSuites) {
+      future.complete(suites.values().toArray(TestSuiteElement[]::new));
+    }
+  }
+
+  /**
+   * Завершает запуск с ошибкой, например, при отключении клиента.
+   * Результаты, полученные до этого момента, остаются в сессии.
+   *
+   * @param error причина
+   */
+  void fail(Throwable error) {
+    future.completeExceptionally(error);
+  }
+
+  /**
+   * Пропускает некорректное сообщение клиента, например, от клиента старой версии
+   */
+  private void dropMessage(String description) {
+    TestViewerPlugin.log().warning("Запуск {0}: пропущено некорректное сообщение клиента, {1}", id, description);
+  }
+
+  private TestSuiteElement getSuite(String name, String context) {
+    var suite = suites.get(suiteKey(name, context));
+    if (suite == null) {
+      var params = new SuiteStartedMessage.Params();
+      params.setName(name);
+      params.setContext(context);
+      onSuiteStarted(params);
+      suite = suites.get(suiteKey(name, context));
+    }
+    return suite;
+  }
+
+  private static void copyResult(TestCaseElement source, TestCaseElement target) {
+    target.setTime(source.getTime());
+    target.setError(source.getError());
+    target.setFailure(source.getFailure());
+    target.setSkipped(source.getSkipped());
+    target.setSystemOut(source.getSystemOut());
+    target.setSystemErr(source.getSystemErr());
+    target.setProperty(source.getProperty());
+    if (source.getClassName() != null) {
+      target.setClassName(source.getClassName());
+    }
+    if (source.getContext() != null) {
+      target.setContext(source.getContext());
+    }
+  }
+
+  static String suiteKey(String name, String context) {
+    return name + '|' + context;
+  }
+
+  private static String testKey(TestSuiteElement suite, String name) {
+    return suiteKey(suite.getName(), suite.getContext()) + '|' + name;
+  }
+}
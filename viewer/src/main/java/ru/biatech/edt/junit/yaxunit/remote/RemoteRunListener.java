@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.yaxunit.remote;
+
+import ru.biatech.edt.junit.model.TestCaseElement;
+import ru.biatech.edt.junit.model.TestSuiteElement;
+
+/**
+ * Получатель результатов запуска по мере их поступления от клиента.
+ * Вызывается из потока веб-сокета.
+ */
+public interface RemoteRunListener {
+
+  RemoteRunListener NULL = new RemoteRunListener() {
+  };
+
+  default void suiteStarted(TestSuiteElement suite) {
+  }
+
+  default void testStarted(TestSuiteElement suite, TestCaseElement test) {
+  }
+
+  default void testFinished(TestSuiteElement suite, TestCaseElement test) {
+  }
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.yaxunit.remote;
+
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.UtilityClass;
+import ru.biatech.edt.junit.TestViewerPlugin;
+import ru.biatech.edt.junit.model.TestCaseElement;
+import ru.biatech.edt.junit.model.TestSuiteElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Распределяет тесты запуска между подключенными клиентами и собирает их результаты
+ */
+@UtilityClass
+class ShardScheduler {
+
+  /**
+   * Разбивает список тестов на части для параллельного выполнения.
+   * Тесты распределяются по убыванию ожидаемой длительности, каждый следующий - в наименее загруженную часть,
+   * чтобы части завершались примерно одновременно.
+   *
+   * @param methods     список тестов, пустой список - все тесты модуля
+   * @param shardsCount количество доступных клиентов
+   * @return непустой список частей, количество частей не превышает количество клиентов и тестов
+   */
+  List<List<String>> split(List<String> methods, int shardsCount) {
+    if (methods == null || methods.isEmpty() || shardsCount <= 1) {
+      return Collections.singletonList(methods);
+    }
+    return split(methods, TestViewerPlugin.core().getTestTimings().estimate(methods), shardsCount);
+  }
+
+  /**
+   * Разбивает список тестов на части с учетом ожидаемой длительности (longest processing time first)
+   *
+   * @param methods     список тестов
+   * @param estimates   ожидаемая длительность тестов, в порядке списка тестов
+   * @param shardsCount количество частей
+   * @return части, тесты в каждой упорядочены по убыванию длительности
+   */
+  List<List<String>> split(List<String> methods, double[] estimates, int shardsCount) {
+    var count = Math.min(shardsCount, methods.size());
+    var order = IntStream.range(0, methods.size())
+        .boxed()
+        .sorted(Comparator.comparingDouble((Integer i) -> estimates[i]).reversed())
+        .mapToInt(Integer::intValue)
+        .toArray();
+
+    var shards = new ArrayList<List<String>>(count);
+    var loads = new PriorityQueue<Shard>(count);
+    for (int i = 0; i < count; i++) {
+      var shard = new Shard(new ArrayList<>());
+      shards.add(shard.methods);
+      loads.add(shard);
+    }
+    for (var index : order) {
+      var shard = loads.poll();
+      shard.methods.add(methods.get(index));
+      shard.load += estimates[index];
+      loads.add(shard);
+    }
+    return shards;
+  }
+
+  /**
+   * Объединяет результаты частей запуска, одноименные наборы собираются в один
+   *
+   * @param results результаты частей запуска
+   * @return итоговые наборы тестов
+   */
+  TestSuiteElement[] merge(List<TestSuiteElement[]> results) {
+    if (results.size() == 1) {
+      return results.get(0);
+    }
+    var suites = new LinkedHashMap<String, TestSuiteElement>();
+    var seen = Collections.newSetFromMap(new IdentityHashMap<TestSuiteElement, Boolean>());
+    for (var result : results) {
+      if (result == null) {
+        continue;
+      }
+      for (var suite : result) {
+        if (!seen.add(suite)) {
+          // Набор собран из событий нескольких частей
+          continue;
+        }
+        var key = RemoteRun.suiteKey(suite.getName(), suite.getContext());
+        var existing = suites.putIfAbsent(key, suite);
+        if (existing != null) {
+          existing.setTestcase(concat(existing.getTestcase(), suite.getTestcase()));
+        }
+      }
+    }
+    return suites.values().toArray(TestSuiteElement[]::new);
+  }
+
+  @RequiredArgsConstructor
+  private static class Shard implements Comparable<Shard> {
+    final List<String> methods;
+    double load;
+
+    @Override
+    public int compareTo(Shard other) {
+      return Double.compare(load, other.load);
+    }
+  }
+
+  private TestCaseElement[] concat(TestCaseElement[] first, TestCaseElement[] second) {
+    var result = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, result, first.length, second.length);
+    return result;
+  }
+}
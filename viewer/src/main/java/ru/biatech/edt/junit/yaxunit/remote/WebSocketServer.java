@@ -18,12 +18,16 @@ package ru.biatech.edt.junit.yaxunit.remote;
 
 import lombok.Getter;
 import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.extensions.permessage_deflate.PerMessageDeflateExtension;
 import org.java_websocket.handshake.ClientHandshake;
 import ru.biatech.edt.junit.Logger;
 import ru.biatech.edt.junit.TestViewerPlugin;
 import ru.biatech.edt.junit.yaxunit.remote.dto.Message;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
 
 public class WebSocketServer extends org.java_websocket.server.WebSocketServer {
   private final MessageSerializer messageSerializer = new MessageSerializer();
@@ -33,15 +37,36 @@ public class WebSocketServer extends org.java_websocket.server.WebSocketServer {
   private final Logger log;
 
   public WebSocketServer(int port, Handler handler) {
-    super(new InetSocketAddress(port));
+    super(new InetSocketAddress(port), List.of(new Draft_6455(new PerMessageDeflateExtension())));
     this.handler = handler;
     log = TestViewerPlugin.log();
   }
 
   public void send(WebSocket socket, Message<?> message) {
-    var messageText = messageSerializer.writeMessage(message);
-    log.debug("Send message to {0}\n{1}", socket.getRemoteSocketAddress().getAddress(),messageText);
-    socket.send(messageText);
+    send(socket, message, false);
+  }
+
+  /**
+   * Отправляет сообщение клиенту
+   *
+   * @param socket     соединение клиента
+   * @param message    сообщение
+   * @param compressed передать сообщение бинарным кадром, сжатым gzip. Клиент должен поддерживать {@link ru.biatech.edt.junit.yaxunit.remote.dto.ProtocolVersion#COMPRESSED}
+   */
+  public void send(WebSocket socket, Message<?> message, boolean compressed) {
+    if (compressed) {
+      var body = messageSerializer.writeCompressedMessage(message);
+      if (log.isDebugEnabled()) {
+        log.debug("Send compressed message {0} to {1}, {2} bytes", message.getType(), socket.getRemoteSocketAddress().getAddress(), body.length);
+      }
+      socket.send(body);
+    } else {
+      var messageText = messageSerializer.writeMessage(message);
+      if (log.isDebugEnabled()) {
+        log.debug("Send message to {0}\n{1}", socket.getRemoteSocketAddress().getAddress(), messageText);
+      }
+      socket.send(messageText);
+    }
   }
 
   @Override
@@ -61,11 +86,25 @@ public class WebSocketServer extends org.java_websocket.server.WebSocketServer {
 
   @Override
   public void onMessage(WebSocket socket, String messageText) {
-    log.debug("Message receive from {0}\n{1}", socket.getRemoteSocketAddress().getAddress(), messageText);
+    if (log.isDebugEnabled()) {
+      log.debug("Message receive from {0}\n{1}", socket.getRemoteSocketAddress().getAddress(), messageText);
+    }
     try {
       var message = messageSerializer.readMessage(messageText);
       handler.onMessageReceive(socket, message);
-      System.out.println(socket + ": " + message);
+    } catch (Exception ex) {
+      onError(socket, ex);
+    }
+  }
+
+  @Override
+  public void onMessage(WebSocket socket, ByteBuffer messageBody) {
+    if (log.isDebugEnabled()) {
+      log.debug("Binary message receive from {0}, {1} bytes", socket.getRemoteSocketAddress().getAddress(), messageBody.remaining());
+    }
+    try {
+      var message = messageSerializer.readMessage(messageBody);
+      handler.onMessageReceive(socket, message);
     } catch (Exception ex) {
       onError(socket, ex);
     }
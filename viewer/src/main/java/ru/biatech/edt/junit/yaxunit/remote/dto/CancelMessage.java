@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.yaxunit.remote.dto;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import lombok.Data;
+
+import static ru.biatech.edt.junit.yaxunit.remote.dto.Message.CANCEL_TYPE;
+
+/**
+ * Требование прервать запуск. Идентификатор сообщения совпадает с идентификатором прерываемого запуска
+ */
+@JsonTypeName(CANCEL_TYPE)
+public class CancelMessage extends Message<CancelMessage.Params> {
+
+  public CancelMessage() {
+    super(CANCEL_TYPE);
+  }
+
+  public CancelMessage(int runId, String reason) {
+    this();
+    setId(runId);
+    data = new Params();
+    data.reason = reason;
+  }
+
+  @Data
+  public static class Params {
+    /**
+     * Причина прерывания
+     */
+    String reason;
+  }
+}
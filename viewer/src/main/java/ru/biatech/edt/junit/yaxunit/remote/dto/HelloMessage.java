@@ -20,6 +20,8 @@ package ru.biatech.edt.junit.yaxunit.remote.dto;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import lombok.Data;
 
+import java.util.List;
+
 import static ru.biatech.edt.junit.yaxunit.remote.dto.Message.HELLO_TYPE;
 
 @JsonTypeName(HELLO_TYPE)
@@ -34,5 +36,10 @@ public class HelloMessage extends Message<HelloMessage.Params> {
   public static class Params {
     String key;
     String protocolVersion;
+    /**
+     * Контексты, в которых клиент может выполнять тесты: server, client, ordinaryClient.
+     * Если не указаны, клиент выполняет тесты во всех контекстах
+     */
+    List<String> contexts;
   }
 }
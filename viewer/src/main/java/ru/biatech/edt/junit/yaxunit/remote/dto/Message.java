@@ -28,14 +28,24 @@ import lombok.NoArgsConstructor;
     @JsonSubTypes.Type(value = HelloMessage.class, name = Message.HELLO_TYPE),
     @JsonSubTypes.Type(value = RunMessage.class, name = Message.RUN_TEST_TYPE),
     @JsonSubTypes.Type(value = ReportMessage.class, name = Message.REPORT_TYPE),
-    @JsonSubTypes.Type(value = ReportFileMessage.class, name = Message.REPORT_FILE_TYPE)
+    @JsonSubTypes.Type(value = ReportFileMessage.class, name = Message.REPORT_FILE_TYPE),
+    @JsonSubTypes.Type(value = SuiteStartedMessage.class, name = Message.SUITE_STARTED_TYPE),
+    @JsonSubTypes.Type(value = TestStartedMessage.class, name = Message.TEST_STARTED_TYPE),
+    @JsonSubTypes.Type(value = TestFinishedMessage.class, name = Message.TEST_FINISHED_TYPE),
+    @JsonSubTypes.Type(value = RunFinishedMessage.class, name = Message.RUN_FINISHED_TYPE),
+    @JsonSubTypes.Type(value = CancelMessage.class, name = Message.CANCEL_TYPE)
 })
 public abstract class Message<T> {
   public static final String
       HELLO_TYPE = "hello",
       RUN_TEST_TYPE = "runTest",
       REPORT_TYPE = "report",
-      REPORT_FILE_TYPE = "reportFile";
+      REPORT_FILE_TYPE = "reportFile",
+      SUITE_STARTED_TYPE = "suiteStarted",
+      TEST_STARTED_TYPE = "testStarted",
+      TEST_FINISHED_TYPE = "testFinished",
+      RUN_FINISHED_TYPE = "runFinished",
+      CANCEL_TYPE = "cancel";
 
   String type;
   int id;
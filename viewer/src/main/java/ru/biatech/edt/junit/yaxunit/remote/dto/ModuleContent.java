@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.yaxunit.remote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Модуль с тестами, передаваемый клиенту для выполнения
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModuleContent {
+  /**
+   * Текст модуля
+   */
+  String module;
+  String moduleName;
+  /**
+   * Полные имена выполняемых тестов модуля, пустой список - все тесты модуля
+   */
+  List<String> methods;
+  boolean server;
+  boolean client;
+  boolean ordinaryClient;
+
+  /**
+   * Возвращает копию модуля с другим списком тестов
+   *
+   * @param methods полные имена тестов
+   * @return копия модуля
+   */
+  public ModuleContent withMethods(List<String> methods) {
+    return new ModuleContent(module, moduleName, methods, server, client, ordinaryClient);
+  }
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.yaxunit.remote.dto;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Версии протокола обмена с клиентом.
+ * <p>
+ * Клиент сообщает поддерживаемую версию в {@link HelloMessage}, сервер передает согласованную версию в {@link RunMessage}.
+ */
+@UtilityClass
+public class ProtocolVersion {
+
+  /**
+   * Результат запуска передается одним сообщением {@link ReportMessage}
+   */
+  public final String REPORT = "1.0"; //$NON-NLS-1$
+
+  /**
+   * Результат передается потоком сообщений {@link SuiteStartedMessage}, {@link TestStartedMessage},
+   * {@link TestFinishedMessage} и {@link RunFinishedMessage}
+   */
+  public final String EVENTS = "1.1"; //$NON-NLS-1$
+
+  /**
+   * Сообщения могут передаваться бинарными кадрами, содержащими JSON, сжатый gzip
+   */
+  public final String COMPRESSED = "1.2"; //$NON-NLS-1$
+
+  /**
+   * Запуск может содержать несколько модулей, {@link RunMessage.Params#getModules()}
+   */
+  public final String MODULES = "1.3"; //$NON-NLS-1$
+
+  /**
+   * Версия протокола, поддерживаемая сервером
+   */
+  public final String CURRENT = MODULES;
+
+  /**
+   * Возвращает версию протокола, которую будут использовать сервер и клиент
+   *
+   * @param clientVersion версия клиента
+   * @return согласованная версия
+   */
+  public String negotiate(String clientVersion) {
+    if (clientVersion == null || clientVersion.isBlank()) {
+      return REPORT;
+    }
+    return compare(clientVersion, CURRENT) >= 0 ? CURRENT : clientVersion;
+  }
+
+  /**
+   * Проверяет, что согласованная версия включает возможности указанной версии протокола
+   *
+   * @param negotiated согласованная версия
+   * @param version    проверяемая версия
+   * @return признак поддержки
+   */
+  public boolean supports(String negotiated, String version) {
+    return negotiated != null && compare(negotiated, version) >= 0;
+  }
+
+  private int compare(String first, String second) {
+    var firstParts = first.trim().split("\\."); //$NON-NLS-1$
+    var secondParts = second.trim().split("\\."); //$NON-NLS-1$
+    for (int i = 0; i < Math.max(firstParts.length, secondParts.length); i++) {
+      var result = Integer.compare(part(firstParts, i), part(secondParts, i));
+      if (result != 0) {
+        return result;
+      }
+    }
+    return 0;
+  }
+
+  private int part(String[] parts, int index) {
+    if (index >= parts.length) {
+      return 0;
+    }
+    try {
+      return Integer.parseInt(parts[index]);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+}
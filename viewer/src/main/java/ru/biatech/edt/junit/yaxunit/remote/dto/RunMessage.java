@@ -27,7 +27,7 @@ public class RunMessage extends Message<RunMessage.Params> {
   }
 
   @Builder
-  public RunMessage(String module, String moduleName, List<String> methods, boolean server, boolean client, boolean ordinaryClient) {
+  public RunMessage(String module, String moduleName, List<String> methods, boolean server, boolean client, boolean ordinaryClient, List<ModuleContent> modules, String protocolVersion) {
     this();
     data = new Params();
     data.module = module;
@@ -36,6 +36,8 @@ public class RunMessage extends Message<RunMessage.Params> {
     data.server = server;
     data.client = client;
     data.ordinaryClient = ordinaryClient;
+    data.modules = modules;
+    data.protocolVersion = protocolVersion;
   }
 
   @Data
@@ -46,5 +48,13 @@ public class RunMessage extends Message<RunMessage.Params> {
     boolean server;
     boolean client;
     boolean ordinaryClient;
+    /**
+     * Модули запуска, протокол {@link ProtocolVersion#MODULES}. Если заполнено, остальные поля модуля не используются
+     */
+    List<ModuleContent> modules;
+    /**
+     * Версия протокола, по которой клиент должен передавать результаты
+     */
+    String protocolVersion;
   }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.yaxunit.remote.dto;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import lombok.Data;
+
+import static ru.biatech.edt.junit.yaxunit.remote.dto.Message.TEST_STARTED_TYPE;
+
+/**
+ * Начало выполнения теста, протокол {@link ProtocolVersion#EVENTS}
+ */
+@JsonTypeName(TEST_STARTED_TYPE)
+public class TestStartedMessage extends Message<TestStartedMessage.Params> {
+
+  public TestStartedMessage() {
+    super(TEST_STARTED_TYPE);
+  }
+
+  @Data
+  public static class Params {
+    /**
+     * Имя тестового набора
+     */
+    String suite;
+    String context;
+    String name;
+    String className;
+  }
+}
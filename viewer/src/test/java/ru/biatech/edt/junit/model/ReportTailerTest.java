@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+
+package ru.biatech.edt.junit.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.biatech.edt.junit.model.report.StreamingReportLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Проверка публикации наборов дописываемого отчета: каждый набор добавляется в сессию один раз,
+ * в том числе если часть отчета повреждена.
+ */
+class ReportTailerTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void publishesEachSuiteOnce() throws IOException {
+    var session = new Session();
+    var tailer = newTailer(session);
+    var report = directory.resolve("report.xml");
+
+    write(report, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<testsuites>\n" + suite("first"));
+    tailer.publish(report, false);
+    write(report, suite("second") + "<testsuite name=\"third\"><testcase name=\"t\"");
+    tailer.publish(report, false);
+    tailer.publish(report, false);
+
+    assertEquals(List.of("first", "second"), suiteNames(session));
+    assertEquals(2, tailer.getPublishedSuites());
+  }
+
+  @Test
+  void skipsMalformedRangeWithoutDuplicates() throws IOException {
+    var session = new Session();
+    var tailer = newTailer(session);
+    var report = directory.resolve("report.xml");
+
+    write(report, "<testsuites>\n" + suite("first")
+        + "<testsuite name=\"broken\"><testcase name=\"t\"></wrong></testsuite>\n");
+    tailer.publish(report, false);
+    assertEquals(List.of("first"), suiteNames(session));
+
+    // Отчет продолжает расти, поврежденная часть повторно не разбирается
+    write(report, suite("second"));
+    tailer.publish(report, false);
+    write(report, suite("third") + "</testsuites>\n");
+    tailer.publish(report, true);
+
+    assertEquals(List.of("first", "second", "third"), suiteNames(session));
+    assertEquals(3, tailer.getPublishedSuites());
+  }
+
+  @Test
+  void publishesUnfinishedTailOnFinish() throws IOException {
+    var session = new Session();
+    var tailer = newTailer(session);
+    var report = directory.resolve("report.xml");
+
+    write(report, "<testsuites>\n" + suite("first") + suite("second").replace("</testsuite>\n", ""));
+    tailer.publish(report, false);
+    assertEquals(List.of("first"), suiteNames(session));
+
+    tailer.publish(report, true);
+    tailer.publish(report, true);
+    assertEquals(List.of("first", "second"), suiteNames(session));
+    assertEquals(2, tailer.getPublishedSuites());
+  }
+
+  private static ReportTailer newTailer(Session session) {
+    return new ReportTailer(session,
+        new StreamingReportLoader<>(TestSuiteElement::new, TestCaseElement::new, TestSuiteElement[]::new, TestCaseElement[]::new));
+  }
+
+  private static String suite(String name) {
+    return "<testsuite name=\"" + name + "\" tests=\"1\"><testcase name=\"" + name + ".test\" classname=\"" + name + "\"/></testsuite>\n";
+  }
+
+  /**
+   * Дописывает отчет. Время изменения сдвигается вперед, чтобы изменение не зависело от точности времени файловой системы
+   */
+  private static void write(Path report, String text) throws IOException {
+    Files.write(report, text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    var modified = Files.exists(report) ? Files.getLastModifiedTime(report).toMillis() : 0;
+    Files.setLastModifiedTime(report, FileTime.fromMillis(Math.max(modified, System.currentTimeMillis()) + 1000));
+  }
+
+  private static List<String> suiteNames(Session session) {
+    return Arrays.stream(session.getTestsuite()).map(TestSuiteElement::getName).collect(Collectors.toList());
+  }
+}
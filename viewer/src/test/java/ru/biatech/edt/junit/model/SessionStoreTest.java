@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+
+package ru.biatech.edt.junit.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.biatech.edt.junit.model.report.ErrorInfo;
+import ru.biatech.edt.junit.model.report.Failure;
+import ru.biatech.edt.junit.model.report.Property;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка сохранения результатов сессии в файлы истории и чтения их обратно
+ */
+class SessionStoreTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void readsBackWrittenSuites() throws IOException {
+    var file = directory.resolve("session.bin");
+    var first = suite(1, "first");
+    first.setPackageName("package");
+    first.setTimestamp(new Date(1_700_000_000_000L));
+    first.setHostname("host");
+    first.setProperty(new Property[]{property("key", "value")});
+    var second = suite(2, "second");
+
+    SessionStore.write(file, new TestSuiteElement[]{first, second});
+    var suites = SessionStore.read(file);
+
+    assertEquals(2, suites.length);
+    assertSuite(first, suites[0]);
+    assertSuite(second, suites[1]);
+  }
+
+  @Test
+  void keepsNullFields() throws IOException {
+    var file = directory.resolve("session.bin");
+    var suite = new TestSuiteElement();
+    var test = new TestCaseElement();
+    var failure = new Failure();
+    failure.setMessage("message");
+    test.setFailure(new Failure[]{failure});
+    test.setProperty(new Property[0]);
+    suite.setTestcase(new TestCaseElement[]{test});
+
+    SessionStore.write(file, new TestSuiteElement[]{suite});
+    var restored = SessionStore.read(file)[0];
+
+    assertNull(restored.getName());
+    assertNull(restored.getPackageName());
+    assertNull(restored.getTimestamp());
+    assertNull(restored.getProperty());
+    assertNull(restored.getError());
+    var restoredTest = restored.getTestcase()[0];
+    assertNull(restoredTest.getName());
+    assertNull(restoredTest.getSystemOut());
+    assertNull(restoredTest.getError());
+    assertNull(restoredTest.getSkipped());
+    assertEquals(0, restoredTest.getProperty().length);
+    assertArrayEquals(test.getFailure(), restoredTest.getFailure());
+    assertNull(restoredTest.getFailure()[0].getTrace());
+    assertNull(restoredTest.getFailure()[0].getExpected());
+  }
+
+  @Test
+  void keepsTextsLongerThan64Kb() throws IOException {
+    var file = directory.resolve("session.bin");
+    var output = longText("вывод", 70_000);
+    var trace = longText("стек", 100_000);
+    var suite = suite(1, "suite");
+    var test = suite.getTestcase()[0];
+    test.setSystemOut(output);
+    test.getFailure()[0].setTrace(trace);
+
+    SessionStore.write(file, new TestSuiteElement[]{suite});
+    var restored = SessionStore.read(file)[0].getTestcase()[0];
+
+    assertEquals(output, restored.getSystemOut());
+    assertEquals(trace, restored.getFailure()[0].getTrace());
+  }
+
+  @Test
+  void skipsCorruptedSuite() throws IOException {
+    var file = directory.resolve("session.bin");
+    SessionStore.write(file, new TestSuiteElement[]{suite(1, "first"), suite(2, "second"), suite(3, "third")});
+
+    var data = Files.readAllBytes(file);
+    var input = new DataInputStream(new ByteArrayInputStream(data));
+    input.readInt();
+    SessionStore.readVarInt(input);
+    var strings = SessionStore.readVarInt(input);
+    for (int i = 0; i < strings; i++) {
+      SessionStore.readString(input);
+    }
+    var count = SessionStore.readVarInt(input);
+    var offsets = new int[count];
+    for (int i = 0; i < count; i++) {
+      offsets[i] = SessionStore.readVarInt(input);
+    }
+    var bodyStart = data.length - input.available();
+    Arrays.fill(data, bodyStart + offsets[1], bodyStart + offsets[2], (byte) 0xff);
+    Files.write(file, data);
+
+    var suites = SessionStore.read(file);
+
+    assertEquals(List.of("first", "third"), Arrays.stream(suites).map(TestSuiteElement::getName).collect(Collectors.toList()));
+  }
+
+  @Test
+  void rejectsUnknownFormat() throws IOException {
+    var file = directory.resolve("session.bin");
+    Files.write(file, new byte[]{1, 2, 3, 4, 5});
+
+    assertThrows(IOException.class, () -> SessionStore.read(file));
+  }
+
+  @Test
+  void readsBackHistoryIndex() throws IOException {
+    var session = new Session();
+    session.appendSuite(suite(1, "first"));
+    session.appendSuite(suite(2, "second"));
+    var empty = new Session();
+
+    HistoryIndex.write(directory, List.of(session, empty));
+    var sessions = HistoryIndex.read(directory);
+
+    assertEquals(2, sessions.size());
+    var restored = sessions.get(0);
+    assertTrue(restored.isSwapped());
+    assertEquals(session.getStartTime(), restored.getStartTime());
+    assertEquals(session.getTotalCount(), restored.getTotalCount());
+    assertEquals(session.getFailureCount(), restored.getFailureCount());
+    assertEquals(session.getStatus(), restored.getStatus());
+    assertEquals(session.getElapsedTimeInSeconds(), restored.getElapsedTimeInSeconds());
+    assertNull(restored.getProjectName());
+    assertEquals(List.of("first", "first", "second", "second"), restored.getAllFailedTestNames());
+    assertTrue(restored.isSwapped(), "Имена упавших тестов читаются из сводки без загрузки результатов");
+    assertEquals(TestStatus.NOT_RUN, sessions.get(1).getStatus());
+  }
+
+  @Test
+  void readsEmptyHistory() throws IOException {
+    assertTrue(HistoryIndex.read(directory).isEmpty());
+  }
+
+  private static void assertSuite(TestSuiteElement expected, TestSuiteElement actual) {
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getName(), actual.getName());
+    assertEquals(expected.getPackageName(), actual.getPackageName());
+    assertEquals(expected.getTimestamp(), actual.getTimestamp());
+    assertEquals(expected.getHostname(), actual.getHostname());
+    assertEquals(expected.getTime(), actual.getTime());
+    assertArrayEquals(expected.getProperty(), actual.getProperty());
+    assertEquals(expected.getTestcase().length, actual.getTestcase().length);
+    for (int i = 0; i < expected.getTestcase().length; i++) {
+      var expectedTest = expected.getTestcase()[i];
+      var actualTest = actual.getTestcase()[i];
+      assertEquals(expectedTest.getName(), actualTest.getName());
+      assertEquals(expectedTest.getClassName(), actualTest.getClassName());
+      assertEquals(expectedTest.getTime(), actualTest.getTime());
+      assertEquals(expectedTest.getContext(), actualTest.getContext());
+      assertEquals(expectedTest.getSystemOut(), actualTest.getSystemOut());
+      assertArrayEquals(expectedTest.getError(), actualTest.getError());
+      assertArrayEquals(expectedTest.getFailure(), actualTest.getFailure());
+    }
+  }
+
+  private static TestSuiteElement suite(int id, String name) {
+    var passed = new TestCaseElement();
+    passed.setName(name + ".passed");
+    passed.setClassName(name);
+    passed.setTime(0.5);
+    passed.setSystemOut("output");
+
+    var failure = new Failure();
+    failure.setMessage("failed");
+    failure.setType("assert");
+    failure.setTrace("trace of " + name);
+    failure.setExpected("1");
+    failure.setActual("2");
+    var failed = new TestCaseElement();
+    failed.setName(name + ".failed");
+    failed.setClassName(name);
+    failed.setContext("server");
+    failed.setFailure(new Failure[]{failure});
+
+    var error = new ErrorInfo();
+    error.setMessage("error");
+    error.setTrace("error trace");
+    var errored = new TestCaseElement();
+    errored.setName(name + ".errored");
+    errored.setClassName(name);
+    errored.setError(new ErrorInfo[]{error});
+
+    var suite = new TestSuiteElement();
+    suite.setId(id);
+    suite.setName(name);
+    suite.setTime(1.5);
+    suite.setTestcase(new TestCaseElement[]{failed, passed, errored});
+    return suite;
+  }
+
+  private static Property property(String name, String value) {
+    var property = new Property();
+    property.setName(name);
+    property.setValue(value);
+    return property;
+  }
+
+  private static String longText(String prefix, int length) {
+    var text = new StringBuilder(length + 32);
+    for (int i = 0; text.length() < length; i++) {
+      text.append(prefix).append(' ').append(i).append('\n');
+    }
+    return text.toString();
+  }
+}
@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2025 BIA-Technologies Limited Liability Company.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package ru.biatech.edt.junit.yaxunit.remote;
+
+import org.java_websocket.WebSocket;
+import org.junit.jupiter.api.Test;
+import ru.biatech.edt.junit.Serializer;
+import ru.biatech.edt.junit.model.TestSuiteElement;
+import ru.biatech.edt.junit.yaxunit.remote.dto.HelloMessage;
+import ru.biatech.edt.junit.yaxunit.remote.dto.ModuleContent;
+import ru.biatech.edt.junit.yaxunit.remote.dto.ProtocolVersion;
+import ru.biatech.edt.junit.yaxunit.remote.dto.ReportMessage;
+import ru.biatech.edt.junit.yaxunit.remote.dto.RunFinishedMessage;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Нагрузочная проверка реестра клиентов и запусков: запуски регистрируются, завершаются клиентами,
+ * прерываются отключением и переподключением клиентов одновременно из разных потоков.
+ * Каждый запуск должен завершиться ровно один раз, а реестр запусков - опустеть.
+ */
+class RemoteLauncherImplTest {
+
+  private static final int CLIENTS = 4;
+  private static final int LAUNCH_THREADS = 4;
+  private static final int RUNS_PER_THREAD = 500;
+  private static final int MAX_RUNS_PER_CLIENT = 2;
+
+  private final RemoteLauncherImpl launcher = new RemoteLauncherImpl(new WebSocketServer(0, null), MAX_RUNS_PER_CLIENT);
+  private final BlockingQueue<Sent> sent = new LinkedBlockingQueue<>();
+
+  @Test
+  void everyRunCompletesExactlyOnce() throws Exception {
+    var clients = new ArrayList<FakeClient>();
+    for (int i = 0; i < CLIENTS; i++) {
+      var client = new FakeClient("client-" + i);
+      client.connect();
+      clients.add(client);
+    }
+
+    var runs = new ConcurrentLinkedQueue<TrackedRun>();
+    var launching = new CountDownLatch(LAUNCH_THREADS);
+    var running = new AtomicBoolean(true);
+    var threads = new ArrayList<Thread>();
+
+    for (int i = 0; i < LAUNCH_THREADS; i++) {
+      threads.add(start("launch-" + i, () -> {
+        try {
+          for (int run = 0; run < RUNS_PER_THREAD; run++) {
+            try {
+              runs.add(new TrackedRun(launcher.launchTest(modules(run), RemoteRunListener.NULL)));
+            } catch (ClientNotFound e) {
+              // Все клиенты переподключаются, запуск не зарегистрирован
+            }
+          }
+        } finally {
+          launching.countDown();
+        }
+      }));
+    }
+
+    // Клиенты завершают запуски отчетом или событием завершения, часть запусков остается без ответа
+    threads.add(start("responder", () -> {
+      while (running.get() || !sent.isEmpty()) {
+        var message = poll();
+        if (message == null) {
+          continue;
+        }
+        var choice = ThreadLocalRandom.current().nextInt(10);
+        if (choice < 6) {
+          var finished = new RunFinishedMessage();
+          finished.setId(message.id);
+          launcher.onMessageReceive(message.socket, finished);
+        } else if (choice < 9) {
+          var report = new ReportMessage();
+          report.setId(message.id);
+          report.setData(new TestSuiteElement[0]);
+          launcher.onMessageReceive(message.socket, report);
+        }
+      }
+    }));
+
+    // Клиенты отключаются и переподключаются, в том числе без уведомления об отключении
+    threads.add(start("reconnect", () -> {
+      while (running.get()) {
+        var client = clients.get(ThreadLocalRandom.current().nextInt(CLIENTS));
+        if (ThreadLocalRandom.current().nextBoolean()) {
+          client.disconnect();
+        }
+        client.connect();
+        Thread.yield();
+      }
+    }));
+
+    assertTrue(launching.await(60, TimeUnit.SECONDS), "Запуски не зарегистрированы за отведенное время");
+    running.set(false);
+    for (var thread : threads) {
+      thread.join(TimeUnit.SECONDS.toMillis(30));
+    }
+    // Запуски без ответа прерываются отключением клиентов
+    clients.forEach(FakeClient::disconnect);
+
+    var all = CompletableFuture.allOf(runs.stream().map(r -> r.future.handle((s, e) -> null)).toArray(CompletableFuture[]::new));
+    all.get(30, TimeUnit.SECONDS);
+
+    assertTrue(runs.size() > 0);
+    for (var run : runs) {
+      assertTrue(run.future.isDone());
+      assertEquals(1, run.completions.get(), "Запуск завершен не один раз");
+    }
+    assertEquals(0, launcher.getActiveRunsCount(), "В реестре остались запуски");
+    assertFalse(launcher.isAvailable());
+  }
+
+  private static List<ModuleContent> modules(int run) {
+    var first = new ModuleContent("// module", "ОМ_Первый", List.of(), true, false, false);
+    if (run % 3 != 0) {
+      return List.of(first);
+    }
+    // Клиент без поддержки нескольких модулей выполняет их отдельными запусками
+    return List.of(first, new ModuleContent("// module", "ОМ_Второй", List.of(), true, false, false));
+  }
+
+  private Sent poll() {
+    try {
+      return sent.poll(10, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
+  private static Thread start(String name, Runnable action) {
+    var thread = new Thread(action, name);
+    thread.setDaemon(true);
+    thread.start();
+    return thread;
+  }
+
+  private static class TrackedRun {
+    final CompletableFuture<TestSuiteElement[]> future;
+    final AtomicInteger completions = new AtomicInteger();
+
+    TrackedRun(CompletableFuture<TestSuiteElement[]> future) {
+      this.future = future;
+      future.whenComplete((suites, error) -> completions.incrementAndGet());
+    }
+  }
+
+  private static class Sent {
+    final WebSocket socket;
+    final int id;
+
+    Sent(WebSocket socket, int id) {
+      this.socket = socket;
+      this.id = id;
+    }
+  }
+
+  /**
+   * Клиент с соединением-заглушкой: отправленные ему запуски попадают в общую очередь
+   */
+  private class FakeClient {
+    final String key;
+    volatile WebSocket socket;
+    volatile AtomicBoolean open;
+
+    FakeClient(String key) {
+      this.key = key;
+    }
+
+    synchronized void connect() {
+      open = new AtomicBoolean(true);
+      socket = newSocket(open);
+      var hello = new HelloMessage();
+      var params = new HelloMessage.Params();
+      params.setKey(key);
+      params.setProtocolVersion(ProtocolVersion.EVENTS);
+      hello.setData(params);
+      launcher.onMessageReceive(socket, hello);
+    }
+
+    synchronized void disconnect() {
+      open.set(false);
+      launcher.onClientDisconnect(socket);
+    }
+  }
+
+  private WebSocket newSocket(AtomicBoolean open) {
+    var holder = new WebSocket[1];
+    holder[0] = (WebSocket) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebSocket.class}, (proxy, method, args) -> {
+      switch (method.getName()) {
+        case "isOpen":
+          return open.get();
+        case "send":
+          var id = Serializer.getJsonMapper().readTree((String) args[0]).get("id").asInt(); //$NON-NLS-1$
+          sent.add(new Sent(holder[0], id));
+          return null;
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "equals":
+          return proxy == args[0];
+        case "toString":
+          return "socket@" + System.identityHashCode(proxy); //$NON-NLS-1$
+        default:
+          throw new UnsupportedOperationException(method.getName());
+      }
+    });
+    return holder[0];
+  }
+}